@@ -6,14 +6,35 @@ plugins {
 group = "org.example"
 version = "1.0-SNAPSHOT"
 
+// virtual threads (GameServer, GameLoadClient) need Java 21
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+// sources contain non-ASCII text (e.g. sort arrows); don't depend on the platform charset
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
 repositories {
     mavenCentral()
 }
 
+// JMH benchmarks live in src/jmh/java and see the main classes
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output
+    runtimeClasspath += sourceSets["main"].output
+}
+
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 application {
@@ -23,3 +44,122 @@ application {
 tasks.test {
     useJUnitPlatform()
 }
+
+// Headless self-play, e.g. ./gradlew simulate -Pargs="random perfect 1000000"
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Plays games between two strategies without a display and prints outcome statistics."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.SelfPlaySimulator")
+    args = (project.findProperty("args") as String? ?: "random heuristic 1000000").split(" ")
+}
+
+// Headless match server and its load generator, e.g. ./gradlew server -Pargs="4567 3 3"
+tasks.register<JavaExec>("server") {
+    group = "application"
+    description = "Hosts matches over a line-based TCP protocol without a display."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.GameServer")
+    args = (project.findProperty("args") as String? ?: "4567").split(" ")
+}
+
+// e.g. ./gradlew loadtest -Pargs="localhost 4567 1000 10 20000"
+tasks.register<JavaExec>("loadtest") {
+    group = "verification"
+    description = "Plays random matches against a running server and reports throughput and move latency."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.GameLoadClient")
+    args = (project.findProperty("args") as String? ?: "localhost 4567 1000 10").split(" ")
+}
+
+// Round robin between bot strategies, e.g. ./gradlew tournament -Pargs="random,heuristic,perfect 10000"
+tasks.register<JavaExec>("tournament") {
+    group = "application"
+    description = "Plays every pairing of the given strategies on all cores and ranks them in tournament.txt."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.Tournament")
+    args = (project.findProperty("args") as String? ?: "random,heuristic,perfect 10000").split(" ")
+}
+
+// Opening and player statistics from recorded games, e.g. ./gradlew analyze -Pargs="games.log 20"
+tasks.register<JavaExec>("analyze") {
+    group = "application"
+    description = "Streams the game log and prints opening statistics and per-player patterns."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.GameAnalyzer")
+    args = (project.findProperty("args") as String? ?: "games.log").split(" ")
+}
+
+// Board rendering speed during automated playback, e.g. ./gradlew boardFps -Pargs="15 5 5"
+tasks.register<JavaExec>("boardFps") {
+    group = "verification"
+    description = "Plays random games on the painted board as fast as possible and reports moves/s and frames/s."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.BoardView")
+    args = (project.findProperty("args") as String? ?: "15 5 5").split(" ")
+}
+
+// Rebuild ratings.txt from the game log with new parameters, e.g. ./gradlew ratings -Pargs="games.log 168"
+tasks.register<JavaExec>("ratings") {
+    group = "application"
+    description = "Recomputes Glicko ratings from the game log (args: log, rating period in hours, deviation growth)."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.Ratings")
+    args = (project.findProperty("args") as String? ?: "games.log").split(" ")
+}
+
+// Scoreboard format migration, e.g. ./gradlew convertScoreboard -Pargs="to-binary scoreboard.txt scoreboard.bin"
+tasks.register<JavaExec>("convertScoreboard") {
+    group = "application"
+    description = "Converts the scoreboard between the CSV and the memory-mapped binary format."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.MappedScoreboard")
+    args = (project.findProperty("args") as String? ?: "to-binary scoreboard.txt scoreboard.bin").split(" ")
+}
+
+// Benchmarks with allocation profiling, e.g. ./gradlew jmh -PjmhArgs="ScoreboardBenchmark -p players=1000"
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks with the GC/allocation profiler."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args = listOf("-prof", "gc") + ((project.findProperty("jmhArgs") as String?)?.split(" ") ?: emptyList())
+}
+
+// Application class-data sharing (opt-in): ./gradlew cdsArchive once, then ./gradlew runCds.
+// Compare cold start with ./gradlew startupCheck before and after creating the archive.
+// CDS only archives classes loaded from jars, so these tasks run from the application jar.
+val cdsArchiveFile = layout.buildDirectory.file("cds/tictactoe.jsa")
+val appJar = files(tasks.named("jar"))
+
+tasks.register<JavaExec>("cdsArchive") {
+    group = "distribution"
+    description = "Records the classes loaded by a startup run into an AppCDS archive (build/cds/tictactoe.jsa)."
+    classpath = appJar
+    mainClass.set("org.example.Main")
+    outputs.file(cdsArchiveFile)
+    doFirst { cdsArchiveFile.get().asFile.parentFile.mkdirs() }
+    jvmArgs("-Dstartup.check=true", "-Xlog:cds=error", "-XX:ArchiveClassesAtExit=${cdsArchiveFile.get().asFile}")
+}
+
+tasks.register<JavaExec>("startupCheck") {
+    group = "verification"
+    description = "Prints how long after JVM start the window and the scoreboard are ready (uses the CDS archive if present)."
+    classpath = appJar
+    mainClass.set("org.example.Main")
+    jvmArgs("-Dstartup.check=true")
+    doFirst {
+        val archive = cdsArchiveFile.get().asFile
+        if (archive.exists()) jvmArgs("-XX:SharedArchiveFile=$archive")
+        println(if (archive.exists()) "with CDS archive $archive" else "without CDS archive")
+    }
+}
+
+tasks.register<JavaExec>("runCds") {
+    group = "application"
+    description = "Runs the game with the AppCDS archive."
+    dependsOn("cdsArchive")
+    classpath = appJar
+    mainClass.set("org.example.Main")
+    jvmArgs("-XX:SharedArchiveFile=${cdsArchiveFile.get().asFile}")
+}
@@ -0,0 +1,66 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@link Board}: win detection, full-board check and reset.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({"3", "15"})
+    int size;
+
+    private Board won;      // diagonal win for X
+    private Board open;     // half-filled, no winner
+    private Board scratch;
+
+    @Setup
+    public void setup() {
+        int k = size == 3 ? 3 : 5;
+        won = new Board(size, k);
+        for (int i = 0; i < k; i++) won.place(won.cellIndex(i, i), Board.X);
+
+        // alternating columns never give anyone k in a row horizontally or diagonally
+        open = new Board(size, k);
+        for (int r = 0; r < size; r++)
+            for (int c = 0; c < size / 2; c++)
+                open.place(open.cellIndex(r, c), ((r / 2 + c) & 1) == 0 ? Board.X : Board.O);
+
+        scratch = new Board(size, k);
+    }
+
+    @Benchmark
+    public int[][] checkWinnerLineWin() { return won.checkWinnerLine(); }
+
+    @Benchmark
+    public int[][] checkWinnerLineNoWin() { return open.checkWinnerLine(); }
+
+    @Benchmark
+    public boolean isFull() { return open.isFull(); }
+
+    @Benchmark
+    public Board reset() {
+        scratch.reset();
+        return scratch;
+    }
+
+    /**
+     * Place a mark (incremental win check) and take it back.
+     */
+    @Benchmark
+    public boolean placeAndCheck() {
+        int cell = open.cellIndex(size - 1, size - 1);
+        open.place(cell, Board.X);
+        boolean won = open.hasWinner();
+        open.clear(cell);
+        return won;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result updates from many threads at once: the synchronized {@link Scoreboard}
+ * against {@link ConcurrentScoreboard}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ConcurrentScoreboardBenchmark {
+
+    @Param({"synchronized", "concurrent"})
+    String impl;
+
+    @Param({"100000"})
+    int players;
+
+    private File dir;
+    private Scoreboard scoreboard;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("scoreboard-bench").toFile();
+        File file = new File(dir, "scoreboard.txt");
+        scoreboard = impl.equals("concurrent") ? new ConcurrentScoreboard(file) : new Scoreboard(file);
+        for (int i = 0; i < players; i++)
+            scoreboard.setRecord(ScoreboardBenchmark.playerName(i), i % 97, i % 89);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) for (File f : files) f.delete();
+        dir.delete();
+    }
+
+    /** One finished game: a win for one random player and a loss for another. */
+    @Benchmark
+    public void recordResult() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        scoreboard.addWin(ScoreboardBenchmark.playerName(r.nextInt(players)));
+        scoreboard.addLoss(ScoreboardBenchmark.playerName(r.nextInt(players)));
+    }
+}
@@ -0,0 +1,94 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete and "find my rank" through the scoreboard's indexes against a linear scan
+ * over the same players.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class NameSearchBenchmark {
+
+    private static final int SUGGESTIONS = 8;
+
+    @Param({"1000000"})
+    int players;
+
+    private File dir;
+    private Scoreboard scoreboard;
+    private String[] names;   // what a linear scan walks
+    private int[] wins, losses;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("scoreboard-bench").toFile();
+        scoreboard = new Scoreboard(new File(dir, "scoreboard.txt"));
+        names = new String[players];
+        wins = new int[players];
+        losses = new int[players];
+        for (int i = 0; i < players; i++) {
+            names[i] = ScoreboardBenchmark.playerName(i);
+            wins[i] = i % 97;
+            losses[i] = i % 89;
+            scoreboard.setRecord(names[i], wins[i], losses[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) for (File f : files) f.delete();
+        dir.delete();
+    }
+
+    /** A typed prefix such as "PLAYER4821": matches about a hundred names at 1M players. */
+    private String prefix() {
+        String name = names[ThreadLocalRandom.current().nextInt(players)];
+        return name.substring(0, Math.min(name.length(), 10)).toUpperCase();
+    }
+
+    @Benchmark
+    public List<String> prefixIndexed() {
+        return scoreboard.getPlayersWithPrefix(prefix(), 0, SUGGESTIONS);
+    }
+
+    /** Every name is checked, then the matches are sorted to pick the first few. */
+    @Benchmark
+    public List<String> prefixLinearScan() {
+        String prefix = prefix();
+        List<String> matches = new ArrayList<>();
+        for (String n : names) if (n.regionMatches(true, 0, prefix, 0, prefix.length())) matches.add(n);
+        matches.sort(String.CASE_INSENSITIVE_ORDER);
+        return matches.subList(0, Math.min(SUGGESTIONS, matches.size()));
+    }
+
+    @Benchmark
+    public int rankIndexed() {
+        return scoreboard.getRank(names[ThreadLocalRandom.current().nextInt(players)]);
+    }
+
+    /** Count the players ahead in leaderboard order (wins desc, losses asc, name). */
+    @Benchmark
+    public int rankLinearScan() {
+        int i = ThreadLocalRandom.current().nextInt(players);
+        int rank = 1;
+        for (int j = 0; j < players; j++) {
+            if (wins[j] > wins[i] || (wins[j] == wins[i] && (losses[j] < losses[i]
+                    || (losses[j] == losses[i] && names[j].compareToIgnoreCase(names[i]) < 0)))) rank++;
+        }
+        return rank;
+    }
+}
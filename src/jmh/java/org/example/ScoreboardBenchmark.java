@@ -0,0 +1,70 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Scoreboard} persistence and query paths at increasing player counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ScoreboardBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int players;
+
+    private File dir;
+    private Scoreboard scoreboard;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("scoreboard-bench").toFile();
+        scoreboard = new Scoreboard(new File(dir, "scoreboard.txt"));
+        for (int i = 0; i < players; i++)
+            scoreboard.setRecord(playerName(i), i % 97, i % 89);
+        scoreboard.save();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) for (File f : files) f.delete();
+        dir.delete();
+    }
+
+    static String playerName(int i) { return "player" + i; }
+
+    @Benchmark
+    public Scoreboard load() {
+        scoreboard.load();
+        return scoreboard;
+    }
+
+    @Benchmark
+    public Scoreboard save() {
+        scoreboard.save();
+        return scoreboard;
+    }
+
+    @Benchmark
+    public List<String> getTopPlayers() { return scoreboard.getTopPlayers(); }
+
+    /**
+     * Rename there and back so every invocation sees the same scoreboard.
+     */
+    @Benchmark
+    public Scoreboard renamePlayer() {
+        scoreboard.renamePlayer("player1", "renamed");
+        scoreboard.renamePlayer("renamed", "player1");
+        return scoreboard;
+    }
+}
@@ -0,0 +1,193 @@
+package org.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * {@link Scoreboard} kept in a memory-mapped {@link MappedScoreboard} file, so the game opens
+ * it in O(1) whatever the player count (selected with {@code -Dscoreboard.binary=true}).
+ * The mapped file is the only store: records are read and updated in place, and a save just
+ * forces the mapped pages to disk. The ranked and name indexes (leaderboard, rank lookups,
+ * prefix search) are only built from the file the first time such a query is made; after
+ * that every update goes to both, indexes first (their updates read the current record back
+ * through {@link #getWins}, which must not see the change yet).
+ * Responsibilities:
+ *  - O(1) open, lookups and updates on the mapped file
+ *  - one-time conversion of an existing CSV scoreboard
+ *  - the full {@link Scoreboard} query API, with the indexes built on demand
+ */
+public class BinaryScoreboard extends Scoreboard {
+
+    static final String BINARY_FILE = "scoreboard.bin";
+
+    private final MappedScoreboard mapped;
+    private boolean indexed;                 // base-class indexes mirror the mapped file; guarded by this
+    private volatile LoadReport lastLoadReport;
+
+    /**
+     * Binary scoreboard in scoreboard.bin, converted from scoreboard.txt the first time.
+     */
+    public BinaryScoreboard() throws IOException {
+        this(new File(BINARY_FILE), new File(FILE));
+    }
+
+    /**
+     * @param csv CSV scoreboard to convert if {@code file} does not exist yet; may be null
+     */
+    public BinaryScoreboard(File file, File csv) throws IOException {
+        super(file, false, false);
+        long start = System.nanoTime();
+        PerfEvents.ScoreboardLoad event = new PerfEvents.ScoreboardLoad();
+        event.begin();
+        if (csv != null && !file.exists() && csv.exists()) MappedScoreboard.fromCsv(csv, file);
+        this.mapped = new MappedScoreboard(file);
+        int players = mapped.getPlayerCount();
+        lastLoadReport = new LoadReport(players, 0, 0, System.nanoTime() - start);
+        PerfMetrics.loaded(event, start, file, players, 0);
+    }
+
+    /* ---------------------
+       Basic access & updates
+       --------------------- */
+
+    @Override
+    public synchronized int getWins(String player) { return mapped.getWins(player); }
+
+    @Override
+    public synchronized int getLosses(String player) { return mapped.getLosses(player); }
+
+    @Override
+    public synchronized void addWin(String player) {
+        if (indexed) super.addWin(player);
+        mapped.addWin(player);
+    }
+
+    @Override
+    public synchronized void addLoss(String player) {
+        if (indexed) super.addLoss(player);
+        mapped.addLoss(player);
+    }
+
+    @Override
+    public synchronized void addResults(String player, int winCount, int lossCount) {
+        if (indexed) super.addResults(player, winCount, lossCount);
+        mapped.setRecord(player, mapped.getWins(player) + Math.max(0, winCount),
+                mapped.getLosses(player) + Math.max(0, lossCount));
+    }
+
+    @Override
+    public synchronized void setRecord(String player, int winCount, int lossCount) {
+        if (indexed) super.setRecord(player, winCount, lossCount);
+        mapped.setRecord(player, winCount, lossCount);
+    }
+
+    @Override
+    public synchronized void removePlayer(String player) {
+        if (indexed) super.removePlayer(player);
+        mapped.removePlayer(player);
+    }
+
+    @Override
+    public synchronized void renamePlayer(String oldName, String newName) {
+        if (indexed) super.renamePlayer(oldName, newName);
+        mapped.renamePlayer(oldName, newName);
+    }
+
+    @Override
+    public synchronized int getPlayerCount() { return mapped.getPlayerCount(); }
+
+    /* ---------------------
+       Save / Load (IO)
+       --------------------- */
+
+    /**
+     * Force the mapped pages to disk; the records are already in the file.
+     */
+    @Override
+    public boolean save() {
+        long start = System.nanoTime();
+        PerfEvents.ScoreboardSave event = new PerfEvents.ScoreboardSave();
+        event.begin();
+        try {
+            mapped.save();
+        } catch (UncheckedIOException e) {
+            System.err.println("Failed to write binary scoreboard: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+        PerfMetrics.saved(event, start, file(), "binary", getPlayerCount());
+        return true;
+    }
+
+    /**
+     * The mapped file is always current; this only drops the indexes so they are rebuilt.
+     */
+    @Override
+    public synchronized void load() {
+        indexed = false;
+        replaceRecords(new Snapshot(new String[0], new long[0]));
+    }
+
+    @Override
+    public LoadReport getLastLoadReport() { return lastLoadReport; }
+
+    /* ---------------------
+       Leaderboard (indexes built on first use)
+       --------------------- */
+
+    private void ensureIndexed() {
+        if (indexed) return;
+        replaceRecords(mapped.snapshot());
+        indexed = true;
+    }
+
+    @Override
+    public synchronized List<String> getSortedPlayers() {
+        ensureIndexed();
+        return super.getSortedPlayers();
+    }
+
+    @Override
+    public synchronized int countPlayersWithPrefix(String prefix) {
+        ensureIndexed();
+        return super.countPlayersWithPrefix(prefix);
+    }
+
+    @Override
+    public synchronized List<String> getPlayersWithPrefix(String prefix, int from, int count) {
+        ensureIndexed();
+        return super.getPlayersWithPrefix(prefix, from, count);
+    }
+
+    @Override
+    public synchronized List<String> getTopPlayers() {
+        ensureIndexed();
+        return super.getTopPlayers();
+    }
+
+    @Override
+    public synchronized List<String> getTopPlayers(int count) {
+        ensureIndexed();
+        return super.getTopPlayers(count);
+    }
+
+    @Override
+    public synchronized int getRank(String player) {
+        ensureIndexed();
+        return super.getRank(player);
+    }
+
+    @Override
+    public synchronized String getPlayerAtRank(int rank) {
+        ensureIndexed();
+        return super.getPlayerAtRank(rank);
+    }
+
+    @Override
+    public synchronized List<Standing> getStandings(int fromRank, int count) {
+        ensureIndexed();
+        return super.getStandings(fromRank, count);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example;
+
+/**
+ * Bitmask helpers for the 3x3 board used by {@link SolvedTable} and {@link PerfectPlayer}.
+ * Cell (r, c) maps to bit r * 3 + c; a side's marks form a 9-bit mask.
+ * {@link Board} keeps its own array-backed state for every size; this class only holds the
+ * 3x3 constants and the win lookup table.
+ * Responsibilities:
+ *  - map rows and columns to cells for 3x3 positions
+ *  - detect wins with a single table lookup per mask
+ */
+public final class BitBoard {
+
+    public static final int SIZE = 3;
+    public static final int CELLS = SIZE * SIZE;
+
+    /** Winning lines: rows, columns, then TL-BR and TR-BL diagonals (bit 0 = top-left). */
+    private static final int[] LINES = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+
+    /** For every 9-bit mask, the index of the first line it completes, or -1. */
+    private static final byte[] WIN_LINE = new byte[1 << CELLS];
+
+    static {
+        for (int mask = 0; mask < WIN_LINE.length; mask++) {
+            WIN_LINE[mask] = -1;
+            for (int i = 0; i < LINES.length; i++) {
+                if ((mask & LINES[i]) == LINES[i]) {
+                    WIN_LINE[mask] = (byte) i;
+                    break;
+                }
+            }
+        }
+    }
+
+    private BitBoard() { }
+
+    /**
+     * Index of the first line fully covered by the given mask, or -1.
+     */
+    public static int winningLineOf(int mask) { return WIN_LINE[mask]; }
+
+    public static int cell(int row, int col) { return row * SIZE + col; }
+}
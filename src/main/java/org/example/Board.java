@@ -1,50 +1,284 @@
 package org.example;
 
 /**
- * Game logic for Tic-Tac-Toe board.
+ * Game logic for an N x N board where K marks in a row win.
+ * The default board is classic 3x3 Tic-Tac-Toe; larger boards cover Gomoku-style variants.
+ * Marks are kept as bit masks, one bit per cell (cell = row * size + col) for X and one for O,
+ * in {@code ceil(cells / 64)} longs each (one long per side up to 8x8), as in {@link Position}.
+ * Responsibilities:
+ *  - place/clear marks without allocating
+ *  - check for a win incrementally, only along the four lines through the last placed cell
+ *  - report the winning run by cell or as a mask instead of a new array
+ *  - track a move counter so {@link #isFull()} is O(1)
  */
 public class Board {
-    private final String[][] cells = new String[3][3];
 
-    public Board() { reset(); }
+    public static final byte EMPTY = 0;
+    public static final byte X = 1;
+    public static final byte O = 2;
 
-    public void setCell(String mark, int[] pos) { cells[pos[0]][pos[1]] = mark; }
+    /** Row/column steps for horizontal, vertical and the two diagonal directions. */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int size;
+    private final int winLength;
+    private final int cellCount;
+    private final int words;          // longs per side
+    private final long[] bits;        // X masks in [0, words), O masks in [words, 2 * words)
+    private int moveCount;
+
+    // winning run, if any: first cell, step between cells and number of cells
+    private int winStart = -1;
+    private int winStep;
+    private int winCount;
+    private byte winMark;
+
+    public Board() { this(3, 3); }
+
+    public Board(int size, int winLength) {
+        if (size < 1) throw new IllegalArgumentException("Board size must be positive: " + size);
+        if (winLength < 1 || winLength > size)
+            throw new IllegalArgumentException("Win length must be between 1 and " + size + ": " + winLength);
+        this.size = size;
+        this.winLength = winLength;
+        this.cellCount = size * size;
+        this.words = (cellCount + 63) >>> 6;
+        this.bits = new long[2 * words];
+        reset();
+    }
+
+    /**
+     * Independent copy of this board, e.g. for search code running on another thread.
+     */
+    public Board copy() {
+        Board b = new Board(size, winLength);
+        System.arraycopy(bits, 0, b.bits, 0, bits.length);
+        b.moveCount = moveCount;
+        b.winStart = winStart;
+        b.winStep = winStep;
+        b.winCount = winCount;
+        b.winMark = winMark;
+        return b;
+    }
+
+    /* ---------------------
+       Updates
+       --------------------- */
+
+    public void setCell(String mark, int[] pos) { setCell(mark, pos[0], pos[1]); }
+
+    /**
+     * Allocation-free variant of {@link #setCell(String, int[])}.
+     * "X" and "O" place a mark; anything else clears the cell.
+     */
+    public void setCell(String mark, int row, int col) {
+        int cell = cellIndex(row, col);
+        if ("X".equals(mark)) place(cell, X);
+        else if ("O".equals(mark)) place(cell, O);
+        else clear(cell);
+    }
+
+    /**
+     * Place a mark (X or O) on a cell and check the lines through it for a win.
+     * Any previous mark on that cell is replaced; replacing part of a winning run drops that win.
+     */
+    public void place(int cell, byte mark) {
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        if (((bits[word] | bits[words + word]) & bit) == 0) moveCount++;
+        else if (winStart >= 0 && isWinningCell(cell)) winStart = -1;
+        bits[word] &= ~bit;
+        bits[words + word] &= ~bit;
+        bits[offset(mark) + word] |= bit;
+        if (winStart < 0) checkWinAt(cell, mark);
+    }
+
+    /**
+     * Empty a cell. A recorded win is dropped if the cell was part of it.
+     */
+    public void clear(int cell) {
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        if (((bits[word] | bits[words + word]) & bit) == 0) return;
+        bits[word] &= ~bit;
+        bits[words + word] &= ~bit;
+        moveCount--;
+        if (winStart >= 0 && isWinningCell(cell)) winStart = -1;
+    }
 
     public void reset() {
-        for (int i = 0; i < 3; i++)
-            for (int j = 0; j < 3; j++)
-                cells[i][j] = "";
+        java.util.Arrays.fill(bits, 0L);
+        moveCount = 0;
+        winStart = -1;
+    }
+
+    /* ---------------------
+       Queries
+       --------------------- */
+
+    public int getSize() { return size; }
+
+    public int getWinLength() { return winLength; }
+
+    public int getCellCount() { return cellCount; }
+
+    public int getMoveCount() { return moveCount; }
+
+    public int cellIndex(int row, int col) { return row * size + col; }
+
+    public byte markAt(int cell) {
+        long bit = 1L << cell;
+        int word = cell >>> 6;
+        if ((bits[word] & bit) != 0) return X;
+        if ((bits[words + word] & bit) != 0) return O;
+        return EMPTY;
     }
 
-    public boolean isFull() {
-        for (String[] row : cells)
-            for (String cell : row)
-                if (cell.isEmpty()) return false;
-        return true;
+    public boolean isEmpty(int cell) {
+        int word = cell >>> 6;
+        return ((bits[word] | bits[words + word]) & 1L << cell) == 0;
+    }
+
+    /**
+     * Returns "X", "O" or "" for the given cell.
+     */
+    public String getCell(int row, int col) { return markName(markAt(cellIndex(row, col))); }
+
+    public boolean isFull() { return moveCount == cellCount; }
+
+    /**
+     * Word {@code word} (cells {@code 64 * word} to {@code 64 * word + 63}) of the mask of
+     * cells holding {@code mark}, e.g. for search code. Boards up to 8x8 need only word 0.
+     */
+    public long marks(byte mark, int word) { return bits[offset(mark) + word]; }
+
+    /**
+     * The n-th (zero-based) empty cell in row-major order, or -1. Skips whole words of the
+     * masks by population count, so it costs O(cells / 64 + 64) instead of a scan of every cell.
+     */
+    public int nthEmpty(int n) {
+        for (int word = 0; word < words; word++) {
+            long free = ~(bits[word] | bits[words + word]);
+            int valid = cellCount - (word << 6);
+            if (valid < 64) free &= (1L << valid) - 1;
+            int count = Long.bitCount(free);
+            if (n >= count) {
+                n -= count;
+                continue;
+            }
+            for (; n > 0; n--) free &= free - 1; // drop the lowest empty cells
+            return (word << 6) + Long.numberOfTrailingZeros(free);
+        }
+        return -1;
+    }
+
+    /**
+     * Mark of the side to move; X always opens.
+     */
+    public byte toMove() { return (moveCount & 1) == 0 ? X : O; }
+
+    public boolean hasWinner() { return winStart >= 0; }
+
+    /**
+     * Mark of the winner, or {@link #EMPTY} if nobody has won.
+     */
+    public byte winner() { return winStart >= 0 ? winMark : EMPTY; }
+
+    /**
+     * Number of cells in the winning run (at least the win length), or 0 if no winner.
+     */
+    public int winningLength() { return winStart >= 0 ? winCount : 0; }
+
+    /**
+     * The i-th cell of the winning run. Does not allocate.
+     */
+    public int winningCell(int i) { return winStart + i * winStep; }
+
+    /**
+     * Whether the cell is part of the winning run. Does not allocate.
+     */
+    public boolean isWinningCell(int cell) {
+        for (int i = 0; i < winningLength(); i++)
+            if (winningCell(i) == cell) return true;
+        return false;
+    }
+
+    /**
+     * Winning run as a cell mask (bit = cell) on boards of up to 64 cells, or 0 if no winner.
+     * Does not allocate.
+     */
+    public long winningMask() {
+        if (cellCount > 64) throw new IllegalStateException("Only boards of up to 64 cells have a one-word mask");
+        long mask = 0;
+        for (int i = 0; i < winningLength(); i++) mask |= 1L << winningCell(i);
+        return mask;
     }
 
     /**
      * Returns winning line coordinates or null if no winner.
+     *
+     * @deprecated allocates on every call; use {@link #winningLength()} and {@link #winningCell(int)}
      */
+    @Deprecated
     public int[][] checkWinnerLine() {
-        // Rows
-        for (int i = 0; i < 3; i++)
-            if (!cells[i][0].isEmpty() && cells[i][0].equals(cells[i][1]) && cells[i][1].equals(cells[i][2]))
-                return new int[][]{{i,0},{i,1},{i,2}};
+        if (winStart < 0) return null;
+        int[][] line = new int[winCount][];
+        for (int i = 0; i < winCount; i++) {
+            int cell = winningCell(i);
+            line[i] = new int[]{cell / size, cell % size};
+        }
+        return line;
+    }
+
+    public static String markName(byte mark) {
+        if (mark == X) return "X";
+        if (mark == O) return "O";
+        return "";
+    }
+
+    /* ---------------------
+       Win detection
+       --------------------- */
 
-        // Columns
-        for (int i = 0; i < 3; i++)
-            if (!cells[0][i].isEmpty() && cells[0][i].equals(cells[1][i]) && cells[1][i].equals(cells[2][i]))
-                return new int[][]{{0,i},{1,i},{2,i}};
+    private int offset(byte mark) {
+        if (mark == X) return 0;
+        if (mark == O) return words;
+        throw new IllegalArgumentException("Not a mark: " + mark);
+    }
 
-        // Diagonal TL-BR
-        if (!cells[0][0].isEmpty() && cells[0][0].equals(cells[1][1]) && cells[1][1].equals(cells[2][2]))
-            return new int[][]{{0,0},{1,1},{2,2}};
+    private void checkWinAt(int cell, byte mark) {
+        int offset = offset(mark);
+        int row = cell / size, col = cell % size;
 
-        // Diagonal TR-BL
-        if (!cells[0][2].isEmpty() && cells[0][2].equals(cells[1][1]) && cells[1][1].equals(cells[2][0]))
-            return new int[][]{{0,2},{1,1},{2,0}};
+        for (int[] d : DIRECTIONS) {
+            int back = run(offset, row, col, -d[0], -d[1]);
+            int forward = run(offset, row, col, d[0], d[1]);
+            int count = back + 1 + forward;
+            if (count >= winLength) {
+                winStart = cellIndex(row - back * d[0], col - back * d[1]);
+                winStep = d[0] * size + d[1];
+                winCount = count;
+                winMark = mark;
+                return;
+            }
+        }
+    }
 
-        return null;
+    /**
+     * Counts consecutive marks from (row, col) in direction (dr, dc), excluding the start cell,
+     * testing one bit per cell. Stops after winLength - 1 cells since longer runs cannot change
+     * the outcome.
+     */
+    private int run(int offset, int row, int col, int dr, int dc) {
+        int n = 0;
+        int r = row + dr, c = col + dc;
+        while (n < winLength - 1 && r >= 0 && r < size && c >= 0 && c < size) {
+            int cell = r * size + c;
+            if ((bits[offset + (cell >>> 6)] & 1L << cell) == 0) break;
+            n++;
+            r += dr;
+            c += dc;
+        }
+        return n;
     }
 }
@@ -0,0 +1,297 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * One custom-painted component for the whole board, replacing a grid of buttons.
+ * Keeps its own copy of the marks so every change repaints just the cells involved;
+ * Swing merges the dirty cells of one event into a single clipped paint, and painting
+ * only visits the cells inside the clip. X and O are drawn from glyph images rendered once
+ * per cell size.
+ * Responsibilities:
+ *  - map mouse clicks to cells
+ *  - repaint only changed cells (marks, last move, winning line)
+ *  - count paints so playback frame rate can be measured
+ */
+public class BoardView extends JComponent {
+
+    static final Font CELL_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 72);
+    static final Color CELL_BG = Color.WHITE;
+    static final Color CELL_FG = new Color(10, 95, 160);
+    static final Color WIN_BG = new Color(144, 238, 144); // light green
+    static final Color LAST_MOVE_BG = WIN_BG.brighter();
+    static final Color PANEL_BG = new Color(230, 230, 230);
+
+    /**
+     * Receives clicks on cells (row * size + col) while the view is enabled.
+     */
+    public interface CellListener {
+        void cellClicked(int cell);
+    }
+
+    private final int size;
+    private final byte[] marks;
+    private final boolean[] highlighted;
+    private int lastMove = -1;
+    private CellListener listener;
+
+    // geometry, recomputed from the component size on each paint
+    private int cellSize, gap, originX, originY;
+
+    // glyphs rendered for the current cell size
+    private BufferedImage xGlyph, oGlyph;
+    private int glyphCellSize;
+
+    private long paints, paintNanos;
+
+    public BoardView(int size) {
+        this.size = size;
+        this.marks = new byte[size * size];
+        this.highlighted = new boolean[size * size];
+        setOpaque(true);
+        setBorder(BorderFactory.createEmptyBorder(12, 12, 12, 12));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            private int pressed = -1;
+
+            @Override public void mousePressed(MouseEvent e) { pressed = cellAt(e.getX(), e.getY()); }
+
+            @Override public void mouseReleased(MouseEvent e) {
+                int cell = cellAt(e.getX(), e.getY());
+                if (cell >= 0 && cell == pressed && isEnabled() && listener != null) listener.cellClicked(cell);
+                pressed = -1;
+            }
+        };
+        addMouseListener(mouse);
+    }
+
+    public void setCellListener(CellListener listener) { this.listener = listener; }
+
+    public int getBoardSize() { return size; }
+
+    /* ---------------------
+       Updates (EDT only)
+       --------------------- */
+
+    public void setMark(int cell, byte mark) {
+        if (marks[cell] == mark) return;
+        marks[cell] = mark;
+        repaintCell(cell);
+    }
+
+    /**
+     * Mark {@code cell} as the most recent move (-1 for none).
+     */
+    public void setLastMove(int cell) {
+        if (cell == lastMove) return;
+        if (lastMove >= 0) repaintCell(lastMove);
+        lastMove = cell;
+        if (cell >= 0) repaintCell(cell);
+    }
+
+    /**
+     * Highlight the winning line of {@code board}, if it has one.
+     */
+    public void highlightWinner(Board board) {
+        for (int i = 0; i < board.winningLength(); i++) {
+            int cell = board.winningCell(i);
+            if (!highlighted[cell]) {
+                highlighted[cell] = true;
+                repaintCell(cell);
+            }
+        }
+    }
+
+    /**
+     * Show the position on {@code board}, repainting only the cells that differ
+     * (used to step through replays).
+     */
+    public void showBoard(Board board) {
+        for (int cell = 0; cell < marks.length; cell++) {
+            setMark(cell, board.markAt(cell));
+            if (highlighted[cell]) {
+                highlighted[cell] = false;
+                repaintCell(cell);
+            }
+        }
+        highlightWinner(board);
+    }
+
+    /**
+     * Empty board, no highlights.
+     */
+    public void clear() {
+        Arrays.fill(marks, Board.EMPTY);
+        Arrays.fill(highlighted, false);
+        lastMove = -1;
+        repaint();
+    }
+
+    private void repaintCell(int cell) {
+        layoutCells();
+        repaint(originX + cell % size * cellSize, originY + cell / size * cellSize, cellSize, cellSize);
+    }
+
+    /* ---------------------
+       Painting
+       --------------------- */
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) return super.getPreferredSize();
+        int side = Math.max(330, Math.min(720, size * 40)) + 24;
+        return new Dimension(side, side);
+    }
+
+    /** Square board centered in the component, with whole-pixel cells. */
+    private void layoutCells() {
+        Insets in = getInsets();
+        int w = getWidth() - in.left - in.right, h = getHeight() - in.top - in.bottom;
+        cellSize = Math.max(1, Math.min(w, h) / size);
+        gap = size <= 3 ? 6 : cellSize >= 12 ? 2 : 1;
+        originX = in.left + (w - cellSize * size) / 2;
+        originY = in.top + (h - cellSize * size) / 2;
+    }
+
+    private int cellAt(int x, int y) {
+        layoutCells();
+        int col = Math.floorDiv(x - originX, cellSize), row = Math.floorDiv(y - originY, cellSize);
+        return row < 0 || row >= size || col < 0 || col >= size ? -1 : row * size + col;
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        long start = System.nanoTime();
+        Graphics2D g = (Graphics2D) graphics;
+        layoutCells();
+        if (glyphCellSize != cellSize) renderGlyphs();
+
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        g.setColor(PANEL_BG);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int firstCol = Math.max(0, (clip.x - originX) / cellSize);
+        int lastCol = Math.min(size - 1, (clip.x + clip.width - 1 - originX) / cellSize);
+        int firstRow = Math.max(0, (clip.y - originY) / cellSize);
+        int lastRow = Math.min(size - 1, (clip.y + clip.height - 1 - originY) / cellSize);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int cell = row * size + col;
+                int x = originX + col * cellSize + gap / 2, y = originY + row * cellSize + gap / 2;
+                g.setColor(highlighted[cell] ? WIN_BG : cell == lastMove ? LAST_MOVE_BG : CELL_BG);
+                g.fillRect(x, y, cellSize - gap, cellSize - gap);
+                BufferedImage glyph = marks[cell] == Board.X ? xGlyph : marks[cell] == Board.O ? oGlyph : null;
+                if (glyph != null) g.drawImage(glyph, x, y, null);
+            }
+        }
+        paints++;
+        paintNanos += System.nanoTime() - start;
+    }
+
+    /** Draw X and O once, antialiased, sized to the current cells. */
+    private void renderGlyphs() {
+        int inner = Math.max(1, cellSize - gap);
+        // the classic 72pt glyphs on 3x3, scaled with the cell elsewhere
+        Font font = CELL_FONT.deriveFont((float) Math.max(6, Math.min(72, inner * 0.7)));
+        xGlyph = renderGlyph("X", font, inner);
+        oGlyph = renderGlyph("O", font, inner);
+        glyphCellSize = cellSize;
+    }
+
+    private static BufferedImage renderGlyph(String text, Font font, int side) {
+        BufferedImage img = new BufferedImage(side, side, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(CELL_FG);
+        FontMetrics fm = g.getFontMetrics();
+        g.drawString(text, (side - fm.stringWidth(text)) / 2, (side - fm.getHeight()) / 2 + fm.getAscent());
+        g.dispose();
+        return img;
+    }
+
+    /* ---------------------
+       Frame statistics
+       --------------------- */
+
+    public long getPaintCount() { return paints; }
+
+    /** Total time spent in {@link #paintComponent}. */
+    public long getPaintNanos() { return paintNanos; }
+
+    /**
+     * Usage: BoardView [size] [winLength] [seconds]
+     * Plays random games as fast as possible and reports moves/s, frames/s and paint time.
+     * Without a display the same updates are painted into an offscreen image.
+     */
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 15;
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : Math.min(size, 5);
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        BoardView view = new BoardView(size);
+        long start = System.nanoTime(), deadline = start + seconds * 1_000_000_000L;
+        long[] moves = {0};
+        SplittableRandom rng = new SplittableRandom(1);
+        ComputerPlayer player = new RandomPlayer(rng);
+        Board board = new Board(size, k);
+
+        if (GraphicsEnvironment.isHeadless()) {
+            view.setSize(view.getPreferredSize());
+            BufferedImage screen = new BufferedImage(view.getWidth(), view.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = screen.createGraphics();
+            view.paint(g);
+            while (System.nanoTime() < deadline) {
+                int cell = playOne(board, view, player);
+                moves[0]++;
+                view.layoutCells();
+                if (board.getMoveCount() == 1) g.setClip(null); // new game: whole board
+                else g.setClip(view.originX + cell % size * view.cellSize, view.originY + cell / size * view.cellSize,
+                        view.cellSize, view.cellSize);
+                view.paint(g);
+            }
+            g.dispose();
+        } else {
+            JFrame frame = new JFrame("Board playback");
+            SwingUtilities.invokeAndWait(() -> {
+                frame.add(view);
+                frame.pack();
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+            });
+            while (System.nanoTime() < deadline) {
+                SwingUtilities.invokeAndWait(() -> {
+                    playOne(board, view, player);
+                    moves[0]++;
+                });
+            }
+            SwingUtilities.invokeAndWait(frame::dispose);
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%dx%d: %,d moves (%,.0f/s), %,d frames (%,.0f/s), %.1f us per paint%s%n",
+                size, size, moves[0], moves[0] / elapsed, view.getPaintCount(), view.getPaintCount() / elapsed,
+                view.getPaintNanos() / 1e3 / Math.max(1, view.getPaintCount()),
+                GraphicsEnvironment.isHeadless() ? " (offscreen)" : "");
+    }
+
+    /** Play one move, starting a new game when the last one ended; returns the cell played. */
+    private static int playOne(Board board, BoardView view, ComputerPlayer player) {
+        if (board.hasWinner() || board.isFull()) {
+            board.reset();
+            view.clear();
+        }
+        int cell = player.chooseMove(board);
+        board.place(cell, board.toMove());
+        view.setMark(cell, board.markAt(cell));
+        view.setLastMove(cell);
+        view.highlightWinner(board);
+        return cell;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example;
+
+/**
+ * A move-selection strategy for the side to move on a {@link Board}.
+ */
+public interface ComputerPlayer {
+
+    /**
+     * Returns the cell index (row * size + col) to play, or -1 if there is no legal move.
+     * Implementations must not leave the board modified.
+     */
+    int chooseMove(Board board);
+}
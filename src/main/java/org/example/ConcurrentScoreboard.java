@@ -0,0 +1,425 @@
+package org.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link Scoreboard} for many games updating results at the same time.
+ * Each player's wins and losses are packed into one {@link AtomicLong} (same layout as
+ * {@link PlayerRecords}) in a {@link ConcurrentHashMap}, so a win or loss is a single
+ * lock-free compare-and-set and writers on different players never contend.
+ * Removing or renaming a player retires its counter (sets it to {@link #RETIRED}) after
+ * unlinking it; a writer that still holds the old counter sees that and retries on the
+ * map, so no result is lost or counted twice.
+ * Responsibilities:
+ *  - lock-free win/loss updates
+ *  - atomic rename-with-merge and removal
+ *  - snapshots for save() and the leaderboard that never block win/loss updates
+ * The leaderboard is computed from a snapshot on demand (O(n) per query) instead of the
+ * incrementally maintained ranked index, which would serialize all writers.
+ * Always stored as a plain CSV snapshot (no journal).
+ */
+public class ConcurrentScoreboard extends Scoreboard {
+
+    /** Value of a counter that has been unlinked from the map. Never a valid packed record. */
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    /** Leaderboard order, identical to {@link RankedIndex}. */
+    private static final Comparator<Map.Entry<String, Long>> RANK_ORDER =
+            Comparator.<Map.Entry<String, Long>>comparingInt(e -> -PlayerRecords.winsOf(e.getValue()))
+                    .thenComparingInt(e -> PlayerRecords.lossesOf(e.getValue()))
+                    .thenComparing(Map.Entry::getKey, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(Map.Entry::getKey);
+
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    // read lock: snapshots; write lock: removals and renames (wins/losses take neither)
+    private final ReentrantReadWriteLock structure = new ReentrantReadWriteLock();
+    private final ScoreboardJournal journal;   // only to replay a journal left by a journaled session
+    private final Object saveLock = new Object();
+    private volatile LoadReport lastLoadReport;
+
+    /**
+     * Concurrent scoreboard in scoreboard.txt.
+     */
+    public ConcurrentScoreboard() {
+        this(new File(FILE));
+    }
+
+    public ConcurrentScoreboard(File file) {
+        super(file, false, false);
+        this.journal = new ScoreboardJournal(file, Long.MAX_VALUE);
+        loadCounters();
+    }
+
+    /* ---------------------
+       Basic access & updates
+       --------------------- */
+
+    @Override
+    public int getWins(String player) {
+        long r = current(validName(player));
+        return r < 0 ? 0 : PlayerRecords.winsOf(r);
+    }
+
+    @Override
+    public int getLosses(String player) {
+        long r = current(validName(player));
+        return r < 0 ? 0 : PlayerRecords.lossesOf(r);
+    }
+
+    @Override
+    public void addWin(String player) { applyWin(validName(player)); }
+
+    @Override
+    public void addLoss(String player) { applyLoss(validName(player)); }
+
+    @Override
+    public void addResults(String player, int winCount, int lossCount) {
+        applyAdd(validName(player), Math.max(0, winCount), Math.max(0, lossCount));
+    }
+
+    @Override
+    public void setRecord(String player, int winCount, int lossCount) {
+        applySet(validName(player), Math.max(0, winCount), Math.max(0, lossCount));
+    }
+
+    @Override
+    public void removePlayer(String player) { applyRemove(validName(player)); }
+
+    @Override
+    public void renamePlayer(String oldName, String newName) {
+        String o = validName(oldName);
+        String n = validName(newName);
+        if (o.equals(n)) return;
+        applyRename(o, n);
+    }
+
+    /* ---------------------
+       Record changes (also used by journal replay)
+       --------------------- */
+
+    @Override
+    void applyWin(String p) { add(p, PlayerRecords.pack(1, 0)); }
+
+    @Override
+    void applyLoss(String p) { add(p, PlayerRecords.pack(0, 1)); }
+
+    @Override
+    void applyAdd(String p, int w, int l) { add(p, PlayerRecords.pack(w, l)); }
+
+    @Override
+    void applySet(String p, int w, int l) {
+        long record = PlayerRecords.pack(w, l);
+        while (true) {
+            AtomicLong c = counter(p);
+            long v = c.get();
+            if (v == RETIRED) continue;
+            if (c.compareAndSet(v, record)) return;
+        }
+    }
+
+    @Override
+    void applyRemove(String p) {
+        structure.writeLock().lock();
+        try {
+            retire(p);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Move o's record onto n (summing if n exists). Atomic: concurrent wins/losses for o
+     * land either before the move (and are carried over) or after it (under o again), and
+     * snapshots see the state before or after, never in between.
+     */
+    @Override
+    void applyRename(String o, String n) {
+        structure.writeLock().lock();
+        try {
+            long moved = retire(o);
+            if (moved <= 0) counter(n); // nothing to migrate; just ensure new exists
+            else add(n, moved);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+
+    /* ---------------------
+       Save / Load (IO)
+       --------------------- */
+
+    /**
+     * Atomic save of a snapshot; wins and losses keep flowing while it is taken and written.
+     */
+    @Override
+    public boolean save() {
+        long start = System.nanoTime();
+        PerfEvents.ScoreboardSave event = new PerfEvents.ScoreboardSave();
+        event.begin();
+        synchronized (saveLock) {
+            File target = file();
+            File temp = new File(target.getPath() + ".tmp");
+            Snapshot snapshot = snapshot();
+            try {
+                writeSnapshot(temp, snapshot, -1);
+            } catch (IOException e) {
+                System.err.println("Failed to write scoreboard: " + e.getMessage());
+                e.printStackTrace();
+                if (temp.exists()) temp.delete();
+                return false;
+            }
+            try {
+                replaceFile(temp, target);
+                journal.discard();
+            } catch (IOException e) {
+                System.err.println("Failed to replace scoreboard file: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+            PerfMetrics.saved(event, start, target, "concurrent", snapshot.names().length);
+            return true;
+        }
+    }
+
+    @Override
+    public void load() { loadCounters(); }
+
+    private void loadCounters() {
+        long start = System.nanoTime();
+        PerfEvents.ScoreboardLoad event = new PerfEvents.ScoreboardLoad();
+        event.begin();
+        structure.writeLock().lock();
+        try {
+            for (String p : counters.keySet()) retire(p); // writers holding old counters retry
+            PlayerRecords loaded = new PlayerRecords();
+            long snapshotSeq = 0;
+            try {
+                ScoreboardLoader.Result result = ScoreboardLoader.load(file(), loaded);
+                lastLoadReport = result.report();
+                snapshotSeq = result.snapshotSeq();
+                if (result.report().rejected() > 0)
+                    System.err.println("Scoreboard: skipped " + result.report().rejected() + " malformed lines in " + file());
+            } catch (IOException e) {
+                System.err.println("Failed to read scoreboard: " + e.getMessage());
+                e.printStackTrace();
+                lastLoadReport = new LoadReport(0, 0, 0, 0);
+            }
+            loaded.forEach((name, w, l) -> counters.put(name, new AtomicLong(PlayerRecords.pack(w, l))));
+            try {
+                journal.replay(this, snapshotSeq);
+            } catch (IOException e) {
+                System.err.println("Failed to read scoreboard journal: " + e.getMessage());
+                e.printStackTrace();
+            }
+        } finally {
+            structure.writeLock().unlock();
+        }
+        PerfMetrics.loaded(event, start, file(), counters.size(), lastLoadReport.rejected());
+    }
+
+    @Override
+    public LoadReport getLastLoadReport() { return lastLoadReport; }
+
+    /* ---------------------
+       Leaderboard (computed from snapshots)
+       --------------------- */
+
+    @Override
+    public List<String> getSortedPlayers() {
+        List<String> list = new ArrayList<>(counters.keySet());
+        list.sort(String.CASE_INSENSITIVE_ORDER);
+        return list;
+    }
+
+    /**
+     * O(n) here: this scoreboard keeps no name index.
+     */
+    @Override
+    public int countPlayersWithPrefix(String prefix) {
+        int n = 0;
+        for (String name : counters.keySet()) if (name.regionMatches(true, 0, prefix, 0, prefix.length())) n++;
+        return n;
+    }
+
+    @Override
+    public List<String> getPlayersWithPrefix(String prefix, int from, int count) {
+        List<String> matches = new ArrayList<>();
+        for (String name : counters.keySet()) if (name.regionMatches(true, 0, prefix, 0, prefix.length())) matches.add(name);
+        matches.sort(String.CASE_INSENSITIVE_ORDER);
+        int start = Math.min(matches.size(), Math.max(0, from));
+        return new ArrayList<>(matches.subList(start, Math.min(matches.size(), start + Math.max(0, count))));
+    }
+
+    @Override
+    public List<String> getTopPlayers() {
+        List<Map.Entry<String, Long>> all = entries();
+        all.sort(RANK_ORDER);
+        List<String> out = new ArrayList<>(all.size());
+        for (Map.Entry<String, Long> e : all) out.add(e.getKey());
+        return out;
+    }
+
+    /**
+     * First {@code count} players from one snapshot, in O(n log count).
+     */
+    @Override
+    public List<String> getTopPlayers(int count) {
+        List<Map.Entry<String, Long>> top = top(entries(), count);
+        List<String> out = new ArrayList<>(top.size());
+        for (Map.Entry<String, Long> e : top) out.add(e.getKey());
+        return out;
+    }
+
+    /**
+     * The first {@code count} entries of {@code all} in leaderboard order: a bounded heap in
+     * O(n log count), or one sort once the heap would hold half the entries or more.
+     */
+    private static List<Map.Entry<String, Long>> top(List<Map.Entry<String, Long>> all, int count) {
+        if (count <= 0) return new ArrayList<>();
+        if (count >= all.size() / 2) {
+            all.sort(RANK_ORDER);
+            return all.subList(0, Math.min(count, all.size()));
+        }
+        PriorityQueue<Map.Entry<String, Long>> worstFirst = new PriorityQueue<>(RANK_ORDER.reversed());
+        for (Map.Entry<String, Long> e : all) {
+            if (worstFirst.size() < count) {
+                worstFirst.add(e);
+            } else if (RANK_ORDER.compare(e, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(e);
+            }
+        }
+        List<Map.Entry<String, Long>> top = new ArrayList<>(worstFirst);
+        top.sort(RANK_ORDER);
+        return top;
+    }
+
+    /**
+     * 1-based leaderboard position of a player, or -1 if unknown. O(n).
+     */
+    @Override
+    public int getRank(String player) {
+        String p = validName(player);
+        List<Map.Entry<String, Long>> all = entries();
+        Map.Entry<String, Long> self = null;
+        for (Map.Entry<String, Long> e : all) if (e.getKey().equals(p)) self = e;
+        if (self == null) return -1;
+        int rank = 1;
+        for (Map.Entry<String, Long> e : all) if (RANK_ORDER.compare(e, self) < 0) rank++;
+        return rank;
+    }
+
+    /**
+     * Ranks from one snapshot of all players, sorted once: O(n log n + k).
+     */
+    @Override
+    public int[] getRanks(List<String> players) {
+        List<Map.Entry<String, Long>> all = entries();
+        all.sort(RANK_ORDER);
+        Map<String, Integer> rankOf = new HashMap<>(all.size() * 2);
+        for (int i = 0; i < all.size(); i++) rankOf.put(all.get(i).getKey(), i + 1);
+        int[] ranks = new int[players.size()];
+        for (int i = 0; i < ranks.length; i++) ranks[i] = rankOf.getOrDefault(validName(players.get(i)), -1);
+        return ranks;
+    }
+
+    @Override
+    public String getPlayerAtRank(int rank) {
+        List<String> top = getTopPlayers(rank);
+        if (rank < 1 || rank > top.size()) throw new IndexOutOfBoundsException("rank " + rank);
+        return top.get(rank - 1);
+    }
+
+    @Override
+    public int getPlayerCount() { return counters.size(); }
+
+    /**
+     * One page of the leaderboard, ranks and records all from the same snapshot.
+     */
+    @Override
+    public List<Standing> getStandings(int fromRank, int count) {
+        List<Standing> out = new ArrayList<>();
+        if (fromRank < 1 || count <= 0) return out;
+        List<Map.Entry<String, Long>> all = entries();
+        if (fromRank > all.size()) return out;
+        int end = (int) Math.min((long) fromRank - 1 + count, all.size());
+        List<Map.Entry<String, Long>> top = top(all, end);
+        for (int rank = fromRank; rank <= end; rank++) {
+            Map.Entry<String, Long> e = top.get(rank - 1);
+            out.add(new Standing(rank, e.getKey(), PlayerRecords.winsOf(e.getValue()), PlayerRecords.lossesOf(e.getValue())));
+        }
+        return out;
+    }
+
+    /* ---------------------
+       Counter helpers
+       --------------------- */
+
+    /** Packed record of a player, or -1 if unknown. */
+    private long current(String p) {
+        AtomicLong c = counters.get(p);
+        if (c == null) return -1;
+        long v = c.get();
+        return v == RETIRED ? -1 : v;
+    }
+
+    private AtomicLong counter(String p) {
+        AtomicLong c = counters.get(p);
+        return c != null ? c : counters.computeIfAbsent(p, k -> new AtomicLong());
+    }
+
+    /** Add a packed delta with one CAS; retries on the map if the counter was retired meanwhile. */
+    private void add(String p, long delta) {
+        while (true) {
+            AtomicLong c = counter(p);
+            long v = c.get();
+            if (v == RETIRED) continue; // unlinked already; the next lookup finds or creates a live one
+            if (c.compareAndSet(v, v + delta)) return;
+        }
+    }
+
+    /** Unlink and retire a player's counter; returns its final record, or -1. Hold the write lock. */
+    private long retire(String p) {
+        AtomicLong c = counters.remove(p);
+        return c == null ? -1 : c.getAndSet(RETIRED);
+    }
+
+    /**
+     * Point-in-time view of every record. Renames and removals are excluded while it is
+     * taken; wins and losses are not, and each record is read in one atomic load.
+     */
+    private Snapshot snapshot() {
+        List<Map.Entry<String, Long>> all = entries();
+        String[] names = new String[all.size()];
+        long[] packed = new long[all.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = all.get(i).getKey();
+            packed[i] = all.get(i).getValue();
+        }
+        return new Snapshot(names, packed);
+    }
+
+    private List<Map.Entry<String, Long>> entries() {
+        structure.readLock().lock();
+        try {
+            List<Map.Entry<String, Long>> out = new ArrayList<>(counters.size());
+            counters.forEach((name, c) -> {
+                long v = c.get();
+                if (v != RETIRED) out.add(Map.entry(name, v));
+            });
+            return out;
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+}
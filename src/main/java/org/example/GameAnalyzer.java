@@ -0,0 +1,148 @@
+package org.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams a {@link GameLog} and prints opening statistics and per-player patterns.
+ * Memory grows with the number of distinct players and openings, never with the number
+ * of games, so logs with millions of games are read in one pass.
+ * Responsibilities:
+ *  - overall results and game lengths per board size
+ *  - outcome rates for each first move and each two-move opening
+ *  - per-player record, side preference and favourite opening
+ */
+public class GameAnalyzer implements GameLog.Visitor {
+
+    /** Outcome counts: [draws, X wins, O wins], indexed by {@link GameRecord} result. */
+    private static final class Outcomes {
+        final long[] counts = new long[3];
+
+        void add(byte result) { counts[result]++; }
+
+        long total() { return counts[0] + counts[1] + counts[2]; }
+
+        String rates() {
+            long n = total();
+            return String.format("X %5.1f%%  O %5.1f%%  draw %5.1f%%",
+                    100.0 * counts[GameRecord.X_WINS] / n, 100.0 * counts[GameRecord.O_WINS] / n,
+                    100.0 * counts[GameRecord.DRAW] / n);
+        }
+    }
+
+    private static final class PlayerStats {
+        long games, wins, losses, draws, asX, moves;
+        final Map<Integer, Long> openingsAsX = new HashMap<>();
+    }
+
+    /** Per board geometry (size and win length). */
+    private static final class SizeStats {
+        final int size;
+        final Outcomes outcomes = new Outcomes();
+        long moves;
+        final Map<Integer, Outcomes> firstMoves = new HashMap<>();
+        final Map<Integer, Outcomes> firstTwoMoves = new HashMap<>();
+
+        SizeStats(int size) { this.size = size; }
+    }
+
+    private final Map<Integer, SizeStats> sizes = new HashMap<>();
+    private final Map<String, PlayerStats> players = new HashMap<>();
+    private long games;
+
+    /* ---------------------
+       Accumulation
+       --------------------- */
+
+    @Override
+    public void visit(GameRecord g) {
+        games++;
+        SizeStats s = sizes.computeIfAbsent(g.size() << 8 | g.winLength(), k -> new SizeStats(g.size()));
+        s.outcomes.add(g.result());
+        s.moves += g.moves().length;
+        int[] m = g.moves();
+        if (m.length > 0) s.firstMoves.computeIfAbsent(m[0], k -> new Outcomes()).add(g.result());
+        if (m.length > 1) s.firstTwoMoves.computeIfAbsent(m[0] << 16 | m[1], k -> new Outcomes()).add(g.result());
+
+        PlayerStats x = players.computeIfAbsent(g.playerX(), k -> new PlayerStats());
+        PlayerStats o = players.computeIfAbsent(g.playerO(), k -> new PlayerStats());
+        x.games++;
+        o.games++;
+        x.asX++;
+        x.moves += (m.length + 1) / 2;
+        o.moves += m.length / 2;
+        if (m.length > 0) x.openingsAsX.merge(m[0], 1L, Long::sum);
+        switch (g.result()) {
+            case GameRecord.X_WINS -> { x.wins++; o.losses++; }
+            case GameRecord.O_WINS -> { o.wins++; x.losses++; }
+            default -> { x.draws++; o.draws++; }
+        }
+    }
+
+    /* ---------------------
+       Report
+       --------------------- */
+
+    public void print(int topPlayers) {
+        System.out.printf("%,d games, %,d players%n", games, players.size());
+        for (SizeStats s : sizes.values()) {
+            long n = s.outcomes.total();
+            System.out.printf("%n%dx%d: %,d games, %.2f moves/game, %s%n",
+                    s.size, s.size, n, (double) s.moves / n, s.outcomes.rates());
+
+            System.out.println("  first move            games    outcome");
+            for (Map.Entry<Integer, Outcomes> e : mostPlayed(s.firstMoves, 10))
+                System.out.printf("  %-18s %,9d    %s%n", cellName(e.getKey(), s.size), e.getValue().total(),
+                        e.getValue().rates());
+
+            System.out.println("  opening (X, O)        games    outcome");
+            for (Map.Entry<Integer, Outcomes> e : mostPlayed(s.firstTwoMoves, 10))
+                System.out.printf("  %-18s %,9d    %s%n",
+                        cellName(e.getKey() >>> 16, s.size) + ", " + cellName(e.getKey() & 0xFFFF, s.size),
+                        e.getValue().total(), e.getValue().rates());
+        }
+
+        System.out.printf("%nplayer                games    win%%  loss%%  draw%%   as X  moves/game  favourite opening%n");
+        List<Map.Entry<String, PlayerStats>> byGames = new ArrayList<>(players.entrySet());
+        byGames.sort((a, b) -> Long.compare(b.getValue().games, a.getValue().games));
+        for (Map.Entry<String, PlayerStats> e : byGames.subList(0, Math.min(topPlayers, byGames.size()))) {
+            PlayerStats p = e.getValue();
+            String favourite = p.openingsAsX.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(f -> "#" + f.getKey() + " (" + f.getValue() + "x)")
+                    .orElse("-");
+            System.out.printf("%-20s %,7d  %5.1f  %5.1f  %5.1f  %4.0f%%  %10.2f  %s%n",
+                    e.getKey(), p.games, 100.0 * p.wins / p.games, 100.0 * p.losses / p.games,
+                    100.0 * p.draws / p.games, 100.0 * p.asX / p.games, (double) p.moves / p.games, favourite);
+        }
+    }
+
+    private static List<Map.Entry<Integer, Outcomes>> mostPlayed(Map<Integer, Outcomes> map, int count) {
+        List<Map.Entry<Integer, Outcomes>> list = new ArrayList<>(map.entrySet());
+        list.sort((a, b) -> Long.compare(b.getValue().total(), a.getValue().total()));
+        return list.subList(0, Math.min(count, list.size()));
+    }
+
+    private static String cellName(int cell, int size) {
+        return "(" + cell / size + "," + cell % size + ")";
+    }
+
+    /**
+     * Usage: GameAnalyzer [log file] [top players]
+     */
+    public static void main(String[] args) throws IOException {
+        File file = new File(args.length > 0 ? args[0] : GameLog.FILE);
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        GameAnalyzer analyzer = new GameAnalyzer();
+        long start = System.nanoTime();
+        GameLog.read(file, analyzer);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        analyzer.print(top);
+        System.out.printf("%nRead %s (%,d bytes) in %.2f s, %,.0f games/s%n",
+                file, file.length(), seconds, analyzer.games / seconds);
+    }
+}
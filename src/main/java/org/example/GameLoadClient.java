@@ -0,0 +1,170 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator for {@link GameServer}: many simulated players on virtual threads, each
+ * joining matches back to back and playing random legal moves.
+ * Optionally also holds a number of idle connections open, to measure their cost.
+ * Reports match throughput and move latency percentiles (MOVE sent until OK received).
+ */
+public class GameLoadClient {
+
+    private static final int READ_TIMEOUT_MS = 10_000;
+
+    /** Matches finished and move latencies seen by one simulated player. */
+    private static final class Stats {
+        long matches;
+        long[] latencies = new long[1024];
+        int moves;
+
+        void addLatency(long nanos) {
+            if (moves == latencies.length) latencies = Arrays.copyOf(latencies, moves * 2);
+            latencies[moves++] = nanos;
+        }
+    }
+
+    /* ---------------------
+       One simulated player
+       --------------------- */
+
+    private static Stats play(String host, int port, String name, long deadline, long seed) throws IOException {
+        Stats stats = new Stats();
+        SplittableRandom rng = new SplittableRandom(seed);
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(READ_TIMEOUT_MS);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            String[] welcome = in.readLine().split(" ");
+            int size = Integer.parseInt(welcome[1]);
+            boolean[] taken = new boolean[size * size];
+
+            while (System.nanoTime() < deadline) {
+                send(out, "JOIN " + name);
+                Arrays.fill(taken, false);
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.equals("TURN")) {
+                        int cell = randomFree(taken, rng);
+                        long start = System.nanoTime();
+                        send(out, "MOVE " + cell / size + " " + cell % size);
+                        String reply = in.readLine();
+                        if ("OK".equals(reply)) {
+                            stats.addLatency(System.nanoTime() - start);
+                            taken[cell] = true;
+                        }
+                    } else if (line.startsWith("OPPONENT ")) {
+                        String[] rc = line.split(" ");
+                        taken[Integer.parseInt(rc[1]) * size + Integer.parseInt(rc[2])] = true;
+                    } else if (line.startsWith("END ")) {
+                        if (!line.equals("END ABORTED")) stats.matches++;
+                        break;
+                    }
+                    // WAIT, START: nothing to do
+                }
+                if (line == null) break;
+            }
+            send(out, "QUIT");
+        } catch (java.net.SocketTimeoutException e) {
+            // left waiting for an opponent when the run ended
+        }
+        return stats;
+    }
+
+    private static int randomFree(boolean[] taken, SplittableRandom rng) {
+        int free = 0;
+        for (boolean t : taken) if (!t) free++;
+        int n = rng.nextInt(free);
+        for (int i = 0; i < taken.length; i++) if (!taken[i] && n-- == 0) return i;
+        throw new IllegalStateException("no free cell");
+    }
+
+    private static void send(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+
+    /* ---------------------
+       Driver
+       --------------------- */
+
+    /**
+     * Usage: GameLoadClient [host] [port] [players] [seconds] [idleConnections]
+     */
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int idle = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        List<Socket> idleSockets = new ArrayList<>(idle);
+        for (int i = 0; i < idle; i++) idleSockets.add(new Socket(host, port));
+        if (idle > 0) System.out.printf("Holding %,d idle connections%n", idle);
+
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        List<Future<Stats>> results = new ArrayList<>(players);
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < players; i++) {
+                String name = "load" + i;
+                long seed = i;
+                results.add(threads.submit(() -> play(host, port, name, deadline, seed)));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long matches = 0;
+        int failed = 0;
+        List<long[]> latencyArrays = new ArrayList<>();
+        int moves = 0;
+        for (Future<Stats> f : results) {
+            try {
+                Stats s = f.get();
+                matches += s.matches;
+                latencyArrays.add(Arrays.copyOf(s.latencies, s.moves));
+                moves += s.moves;
+            } catch (Exception e) {
+                failed++;
+            }
+        }
+        long[] all = new long[moves];
+        int at = 0;
+        for (long[] l : latencyArrays) {
+            System.arraycopy(l, 0, all, at, l.length);
+            at += l.length;
+        }
+        Arrays.sort(all);
+
+        // every match is counted by both of its players
+        System.out.printf("%,d players, %.1f s: %,d matches (%,.0f/s), %,d moves, %d failed connections%n",
+                players, elapsed / 1e9, matches / 2, matches / 2 / (elapsed / 1e9), moves, failed);
+        System.out.printf("move latency: p50 %s, p90 %s, p99 %s, p99.9 %s, max %s%n",
+                micros(all, 0.50), micros(all, 0.90), micros(all, 0.99), micros(all, 0.999), micros(all, 1.0));
+
+        for (Socket s : idleSockets) s.close();
+    }
+
+    private static String micros(long[] sorted, double q) {
+        if (sorted.length == 0) return "-";
+        int i = (int) Math.min(sorted.length - 1, Math.ceil(q * sorted.length) - 1);
+        return String.format("%.0f us", sorted[Math.max(0, i)] / 1e3);
+    }
+}
@@ -0,0 +1,417 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Append-only binary log of finished games ({@code games.log} by default).
+ * Each game is a length-prefixed record:
+ *   varint body length, then varlong time, varint size and winLength, result byte, varint move count,
+ *   X and O names (varint length + UTF-8), and the moves bit-packed.
+ * A move is stored as its rank among the cells still empty, in just enough bits for that
+ * many cells: a full 3x3 game takes 21 bits, a 15x15 move at most 8.
+ * Games are encoded into an in-memory batch and appended to the file in large writes.
+ * A torn record at the end of the file (crash mid-append) is ignored by readers and cut off
+ * before the first append, so later games are not written behind it; the file is scanned for it
+ * on a background thread as soon as the log is opened.
+ * Responsibilities:
+ *  - compact encoding of move sequences
+ *  - batched appends, flushed on size or on demand
+ *  - streaming reads that never hold more than one game in memory
+ */
+public class GameLog implements Closeable {
+
+    public static final String FILE = "games.log";
+
+    private static final int FLUSH_BYTES = 64 * 1024;
+    /** Far above any real game (names plus at most one move per cell); longer lengths are corruption. */
+    static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Receives games in file order during {@link #read(File, Visitor)}.
+     */
+    public interface Visitor {
+        void visit(GameRecord game);
+    }
+
+    /**
+     * Games encoded but not yet written. One per writer thread keeps appends contention-free;
+     * hand it to {@link #append(Batch)} when it grows.
+     */
+    public static final class Batch {
+        private byte[] buf = new byte[FLUSH_BYTES + 1024];
+        private int length;
+        private final byte[] body = new byte[1024];
+
+        public void add(GameRecord game) {
+            byte[] b = body;
+            int bodyLength = encode(game, b);
+            if (bodyLength > b.length) {
+                b = new byte[bodyLength]; // long names
+                bodyLength = encode(game, b);
+            }
+            ensure(5 + bodyLength);
+            length = putVarLong(buf, length, bodyLength);
+            System.arraycopy(b, 0, buf, length, bodyLength);
+            length += bodyLength;
+        }
+
+        public int bytes() { return length; }
+
+        private void addAll(Batch other) {
+            ensure(other.length);
+            System.arraycopy(other.buf, 0, buf, length, other.length);
+            length += other.length;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, length + extra));
+        }
+    }
+
+    /** Where the complete records of the file end, as measured when it was {@code fileLength} long. */
+    private record Scan(long fileLength, long complete) { }
+
+    private final File file;
+    private final CompletableFuture<Scan> tornScan; // started here so the first write (often on the EDT) does not read the log
+    private final Batch pending = new Batch();   // guarded by this
+    private FileOutputStream out;                // opened on first write
+
+    public GameLog(File file) {
+        this.file = file;
+        this.tornScan = Main.loadAsync(() -> {
+            try {
+                return scan(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, "game-log-scan");
+    }
+
+    public File file() { return file; }
+
+    /* ---------------------
+       Writing
+       --------------------- */
+
+    /**
+     * Buffer one game; written to disk once the batch reaches 64 KB or on {@link #flush()}.
+     * A failed write keeps the games buffered; the next flush retries them.
+     */
+    public synchronized void append(GameRecord game) {
+        pending.add(game);
+        if (pending.length >= FLUSH_BYTES) tryWrite(pending);
+    }
+
+    /**
+     * Write a caller-owned batch in one append and empty it. If that fails (or earlier games are
+     * still waiting for a retry) its games move to the internal buffer instead, so they are not lost
+     * and {@link #flush()} reports the error.
+     */
+    public synchronized void append(Batch batch) {
+        if (batch.length == 0) return;
+        boolean direct = pending.length == 0;
+        if (direct && tryWrite(batch)) return;
+        pending.addAll(batch); // behind the games already waiting, to keep file order
+        batch.length = 0;
+        if (!direct) tryWrite(pending);
+    }
+
+    /**
+     * Write the buffered games. On failure they stay buffered for the next flush.
+     */
+    public synchronized void flush() throws IOException {
+        write(pending);
+    }
+
+    /**
+     * Flush and close the file; throws if buffered games could not be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (out != null) {
+                FileOutputStream o = out;
+                out = null;
+                o.close();
+            }
+        }
+    }
+
+    /**
+     * Append the batch and empty it. On failure the file is cut back to where it was (so no
+     * partial record is left before the retry) and the batch is left untouched.
+     */
+    private void write(Batch batch) throws IOException {
+        if (batch.length == 0) return;
+        if (out == null) {
+            dropTornRecord();
+            out = new FileOutputStream(file, true);
+        }
+        long before = out.getChannel().size();
+        try {
+            out.write(batch.buf, 0, batch.length);
+        } catch (IOException e) {
+            FileOutputStream o = out;
+            out = null; // reopened (and any leftover tail dropped) by the retry
+            try (o) {
+                o.getChannel().truncate(before);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        batch.length = 0;
+    }
+
+    private boolean tryWrite(Batch batch) {
+        try {
+            write(batch);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Failed to write game log, keeping " + batch.length + " bytes for retry: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Cut the file after its last complete record, as {@link ScoreboardJournal} does for a torn line.
+     * Uses the scan started by the constructor; only rescans here if that failed or the file has
+     * changed since (e.g. after a failed write).
+     */
+    private void dropTornRecord() throws IOException {
+        Scan scan;
+        try {
+            scan = tornScan.join();
+        } catch (CompletionException e) {
+            scan = null; // rescanned below, reporting the error to the writer
+        }
+        if (scan == null || scan.fileLength != file.length()) scan = scan(file);
+        if (scan.complete == scan.fileLength) return;
+        System.err.println("Dropping torn record at the end of " + file + " (" + (scan.fileLength - scan.complete) + " bytes)");
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            ch.truncate(scan.complete);
+        }
+    }
+
+    private static Scan scan(File file) throws IOException {
+        if (!file.exists()) return new Scan(0, 0);
+        long length = file.length();
+        return new Scan(length, completeLength(file));
+    }
+
+    /* ---------------------
+       Reading
+       --------------------- */
+
+    /**
+     * Bytes taken by the complete records at the start of {@code file}; skips bodies without decoding them.
+     * Throws on a length no writer produces, so the file is not cut there.
+     */
+    static long completeLength(File file) throws IOException {
+        long fileLength = file.length(), complete = 0;
+        int[] header = new int[1];
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16)) {
+            while (true) {
+                int bodyLength;
+                try {
+                    bodyLength = readLength(in, file, header);
+                } catch (EOFException e) {
+                    return complete; // torn length
+                }
+                if (complete + header[0] + bodyLength > fileLength) return complete;
+                in.skipNBytes(bodyLength);
+                complete += header[0] + bodyLength;
+            }
+        }
+    }
+
+    /**
+     * Stream every complete game in {@code file} to the visitor, in order.
+     * A record running past the end of the file is a torn append and ends the read; a length
+     * no writer produces, or a body that does not decode, is reported as corruption.
+     */
+    public static void read(File file, Visitor visitor) throws IOException {
+        if (!file.exists()) return;
+        long remaining = file.length();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16)) {
+            byte[] body = new byte[1024];
+            int[] header = new int[1];
+            while (true) {
+                int bodyLength;
+                try {
+                    bodyLength = readLength(in, file, header);
+                    remaining -= header[0];
+                } catch (EOFException e) {
+                    return;
+                }
+                if (bodyLength > remaining) return; // torn last record
+                if (bodyLength > body.length) body = new byte[bodyLength];
+                if (in.readNBytes(body, 0, bodyLength) < bodyLength) return;
+                remaining -= bodyLength;
+                GameRecord game;
+                try {
+                    game = decode(body);
+                } catch (RuntimeException e) {
+                    throw new IOException("Corrupt game record in " + file, e);
+                }
+                visitor.visit(game);
+            }
+        }
+    }
+
+    /**
+     * Read a record's varint body length, storing the bytes it took in {@code header[0]}.
+     * EOFException if the file ends inside it; IOException if it is malformed or over
+     * {@link #MAX_RECORD_BYTES}.
+     */
+    private static int readLength(InputStream in, File file, int[] header) throws IOException {
+        long v = 0;
+        header[0] = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int x = in.read();
+            if (x < 0) throw new EOFException();
+            header[0]++;
+            v |= (long) (x & 0x7F) << shift;
+            if ((x & 0x80) == 0) {
+                if (v < 0 || v > MAX_RECORD_BYTES) throw new IOException("Corrupt game record in " + file + ": length " + v);
+                return (int) v;
+            }
+        }
+        throw new IOException("Corrupt game record in " + file + ": malformed length");
+    }
+
+    /**
+     * The most recent {@code count} games, oldest first.
+     */
+    public static List<GameRecord> readLast(File file, int count) throws IOException {
+        Deque<GameRecord> last = new ArrayDeque<>(count);
+        read(file, g -> {
+            if (last.size() == count) last.removeFirst();
+            last.addLast(g);
+        });
+        return new ArrayList<>(last);
+    }
+
+    /* ---------------------
+       Encoding
+       --------------------- */
+
+    /**
+     * Encode a game body into {@code b}; returns its length (which may exceed b.length,
+     * in which case nothing useful was written and the caller retries with a bigger array).
+     */
+    private static int encode(GameRecord g, byte[] b) {
+        byte[] x = g.playerX().getBytes(StandardCharsets.UTF_8);
+        byte[] o = g.playerO().getBytes(StandardCharsets.UTF_8);
+        int cells = g.size() * g.size();
+        int moveBits = 0;
+        for (int i = 0; i < g.moves().length; i++) moveBits += bitsFor(cells - i);
+        int length = 10 + 5 + 5 + 1 + 5 + 5 + x.length + 5 + o.length + (moveBits + 7) / 8;
+        if (length > b.length) return length;
+
+        int at = putVarLong(b, 0, g.timeMillis());
+        // varints: one byte each (as in older logs) up to 127, more for larger boards
+        at = putVarLong(b, at, g.size());
+        at = putVarLong(b, at, g.winLength());
+        b[at++] = g.result();
+        at = putVarLong(b, at, g.moves().length);
+        at = putVarLong(b, at, x.length);
+        System.arraycopy(x, 0, b, at, x.length);
+        at += x.length;
+        at = putVarLong(b, at, o.length);
+        System.arraycopy(o, 0, b, at, o.length);
+        at += o.length;
+
+        // each move as its rank among the empty cells
+        boolean[] taken = new boolean[cells];
+        long bitPos = (long) at * 8;
+        Arrays.fill(b, at, at + (moveBits + 7) / 8, (byte) 0);
+        for (int i = 0; i < g.moves().length; i++) {
+            int cell = g.moves()[i];
+            int rank = 0;
+            for (int c = 0; c < cell; c++) if (!taken[c]) rank++;
+            taken[cell] = true;
+            int bits = bitsFor(cells - i);
+            for (int k = bits - 1; k >= 0; k--, bitPos++)
+                if ((rank >>> k & 1) != 0) b[(int) (bitPos >>> 3)] |= (byte) (0x80 >>> (bitPos & 7));
+        }
+        return (int) ((bitPos + 7) >>> 3);
+    }
+
+    private static GameRecord decode(byte[] b) throws IOException {
+        int[] at = {0};
+        long time = getVarLong(b, at);
+        int size = (int) getVarLong(b, at);
+        int winLength = (int) getVarLong(b, at);
+        byte result = b[at[0]++];
+        int moveCount = (int) getVarLong(b, at);
+        String x = getString(b, at);
+        String o = getString(b, at);
+
+        int cells = size * size;
+        boolean[] taken = new boolean[cells];
+        int[] moves = new int[moveCount];
+        long bitPos = (long) at[0] * 8;
+        for (int i = 0; i < moveCount; i++) {
+            int bits = bitsFor(cells - i);
+            int rank = 0;
+            for (int k = 0; k < bits; k++, bitPos++)
+                rank = rank << 1 | (b[(int) (bitPos >>> 3)] >>> (7 - (bitPos & 7)) & 1);
+            int cell = 0;
+            while (taken[cell] || rank-- > 0) cell++;
+            taken[cell] = true;
+            moves[i] = cell;
+        }
+        return new GameRecord(time, size, winLength, x, o, result, moves);
+    }
+
+    /** Bits needed to tell apart {@code n} choices (0 when there is only one). */
+    private static int bitsFor(int n) { return n <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1); }
+
+    private static int putVarLong(byte[] b, int at, long v) {
+        while ((v & ~0x7FL) != 0) {
+            b[at++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        b[at++] = (byte) v;
+        return at;
+    }
+
+    private static long getVarLong(byte[] b, int[] at) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte x = b[at[0]++];
+            v |= (long) (x & 0x7F) << shift;
+            if (x >= 0) return v;
+        }
+        throw new IOException("Malformed varint in game log");
+    }
+
+    private static String getString(byte[] b, int[] at) throws IOException {
+        int len = (int) getVarLong(b, at);
+        String s = new String(b, at[0], len, StandardCharsets.UTF_8);
+        at[0] += len;
+        return s;
+    }
+}
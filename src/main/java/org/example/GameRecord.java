@@ -0,0 +1,43 @@
+package org.example;
+
+/**
+ * One finished game: who played, on what board, and every move in order.
+ * Moves are cell indices (row * size + col); X made the even-numbered ones.
+ */
+public record GameRecord(long timeMillis, int size, int winLength, String playerX, String playerO,
+                         byte result, int[] moves) {
+
+    public static final byte DRAW = 0;
+    public static final byte X_WINS = 1;
+    public static final byte O_WINS = 2;
+
+    /**
+     * Record the game currently on {@code board} (which must be over).
+     */
+    public static GameRecord of(Board board, String playerX, String playerO, int[] moves) {
+        byte winner = board.winner();
+        byte result = winner == Board.X ? X_WINS : winner == Board.O ? O_WINS : DRAW;
+        return new GameRecord(System.currentTimeMillis(), board.getSize(), board.getWinLength(),
+                playerX, playerO, result, java.util.Arrays.copyOf(moves, board.getMoveCount()));
+    }
+
+    public String winnerName() {
+        return result == X_WINS ? playerX : result == O_WINS ? playerO : null;
+    }
+
+    /**
+     * Replay the first {@code moveCount} moves on a fresh board.
+     */
+    public Board boardAfter(int moveCount) {
+        Board b = new Board(size, winLength);
+        for (int i = 0; i < moveCount; i++) b.place(moves[i], i % 2 == 0 ? Board.X : Board.O);
+        return b;
+    }
+
+    @Override
+    public String toString() {
+        String outcome = result == DRAW ? "draw" : winnerName() + " won";
+        return String.format("%tF %<tR  %s (X) vs %s (O), %dx%d: %s in %d moves",
+                timeMillis, playerX, playerO, size, size, outcome, moves.length);
+    }
+}
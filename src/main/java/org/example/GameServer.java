@@ -0,0 +1,373 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless server hosting many matches at once over a line-based TCP protocol.
+ * Every connection and every match runs on its own virtual thread, so idle connections
+ * cost a socket and a parked virtual thread, not a platform thread.
+ * Protocol (one command per line, server messages in capitals):
+ *   S: WELCOME size winLength
+ *   C: JOIN name                  queue for the next opponent
+ *   S: WAIT                       no opponent yet
+ *   S: START X|O opponent         match begins; X moves first
+ *   S: TURN                       your move
+ *   C: MOVE row col               zero-based
+ *   S: OK | ERR reason            move accepted, or rejected (TURN follows again)
+ *   S: OPPONENT row col           the other player's move
+ *   S: END WIN|LOSS|DRAW|ABORTED  match over; JOIN again or QUIT
+ *   C: QUIT
+ * A player who disconnects mid-match forfeits; one who leaves before their first move
+ * (e.g. while still queued) aborts the match instead.
+ * Results go to a shared {@link ConcurrentScoreboard}, saved by a {@link ScoreboardWriter};
+ * finished matches are recorded in a {@link GameLog}.
+ * Responsibilities:
+ *  - accept connections and pair waiting players
+ *  - referee each match on its own board
+ *  - record results and report server load
+ */
+public class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 4567;
+
+    private static final int BACKLOG = 4096;
+    private static final long SAVE_DELAY_MS = 1000;
+
+    private static final int LINE_BUFFER = 64;       // initial read buffer; commands are short
+    private static final int MAX_LINE = 1024;        // longer lines drop the connection
+
+    /**
+     * One connected client. Its socket is read by the connection thread, or by its match.
+     * Kept small for idle connections: lines are read through a 64-byte buffer that only
+     * grows for longer lines, and each message is encoded and written in one call instead of
+     * through a buffered writer.
+     */
+    private static final class Player {
+        final Socket socket;
+        final InputStream in;
+        final OutputStream out;
+        private byte[] buf = new byte[LINE_BUFFER];
+        private int start, end;     // unread bytes are buf[start, end)
+        String name;
+        CountDownLatch matchOver;
+
+        Player(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = socket.getInputStream();
+            this.out = socket.getOutputStream();
+        }
+
+        /** Send one line; a dead connection is noticed on the next read. */
+        synchronized void send(String line) {
+            try {
+                out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            } catch (IOException ignore) {
+                // reader side reports the disconnect
+            }
+        }
+
+        /** Next line without its terminator, or null once the client is gone (or sent an overlong line). */
+        String read() {
+            try {
+                int scanned = start;
+                while (true) {
+                    for (int i = scanned; i < end; i++) {
+                        if (buf[i] != '\n') continue;
+                        int stop = i > start && buf[i - 1] == '\r' ? i - 1 : i;
+                        String line = new String(buf, start, stop - start, StandardCharsets.UTF_8);
+                        start = i + 1;
+                        return line;
+                    }
+                    if (start > 0) { // keep the partial line at the front
+                        System.arraycopy(buf, start, buf, 0, end - start);
+                        end -= start;
+                        start = 0;
+                    }
+                    scanned = end;
+                    if (end == buf.length) {
+                        if (buf.length >= MAX_LINE) return null;
+                        buf = Arrays.copyOf(buf, buf.length * 2);
+                    }
+                    int n = in.read(buf, end, buf.length - end);
+                    if (n < 0) {
+                        if (end == start) return null;
+                        String last = new String(buf, start, end - start, StandardCharsets.UTF_8); // unterminated
+                        start = end;
+                        return last;
+                    }
+                    end += n;
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private final int size;
+    private final int winLength;
+    private final Scoreboard scoreboard;
+    private final ScoreboardWriter writer;
+    private final GameLog gameLog;
+    private final ServerSocket server;
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger activeMatches = new AtomicInteger();
+    private final AtomicLong matchesPlayed = new AtomicLong();
+    private final AtomicLong movesPlayed = new AtomicLong();
+    private Player waiting; // guarded by this
+
+    /**
+     * @param port 0 picks a free port (see {@link #getPort()})
+     */
+    public GameServer(int port, int size, int winLength, Scoreboard scoreboard) throws IOException {
+        this(port, size, winLength, scoreboard, new GameLog(new java.io.File(GameLog.FILE)));
+    }
+
+    /**
+     * @param gameLog receives every finished match (forfeits and aborts are not recorded)
+     */
+    public GameServer(int port, int size, int winLength, Scoreboard scoreboard, GameLog gameLog) throws IOException {
+        new Board(size, winLength); // validates the dimensions
+        this.size = size;
+        this.winLength = winLength;
+        this.scoreboard = scoreboard;
+        this.writer = new ScoreboardWriter(scoreboard, SAVE_DELAY_MS);
+        this.gameLog = gameLog;
+        this.server = new ServerSocket(port, BACKLOG);
+    }
+
+    public int getPort() { return server.getLocalPort(); }
+
+    public int getConnectionCount() { return connections.get(); }
+
+    public int getActiveMatchCount() { return activeMatches.get(); }
+
+    public long getMatchesPlayed() { return matchesPlayed.get(); }
+
+    public long getMovesPlayed() { return movesPlayed.get(); }
+
+    /* ---------------------
+       Connections
+       --------------------- */
+
+    /**
+     * Accept connections until the server is closed.
+     */
+    public void serve() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                threads.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        connections.incrementAndGet();
+        try (socket) {
+            Player p = new Player(socket);
+            p.send("WELCOME " + size + " " + winLength);
+            String line;
+            while ((line = p.read()) != null) {
+                line = line.trim();
+                if (line.equals("QUIT")) break;
+                if (!line.startsWith("JOIN ")) {
+                    p.send("ERR expected JOIN name or QUIT");
+                    continue;
+                }
+                String name = Scoreboard.validName(line.substring(5));
+                if (name.isEmpty() || name.indexOf(',') >= 0) {
+                    p.send("ERR invalid name");
+                    continue;
+                }
+                p.name = name;
+                p.matchOver = new CountDownLatch(1);
+                join(p);
+                p.matchOver.await(); // the match thread owns the socket until then
+                if (p.socket.isClosed()) break;
+            }
+        } catch (IOException | InterruptedException e) {
+            // connection dropped or server shutting down
+        } finally {
+            connections.decrementAndGet();
+        }
+    }
+
+    /**
+     * Pair with the waiting player, or wait for the next one.
+     */
+    private void join(Player p) {
+        Player opponent;
+        synchronized (this) {
+            opponent = waiting;
+            if (opponent == null) {
+                waiting = p;
+                p.send("WAIT"); // under the lock, so it always precedes START
+                return;
+            }
+            waiting = null;
+        }
+        threads.execute(() -> playMatch(opponent, p));
+    }
+
+    /* ---------------------
+       Matches
+       --------------------- */
+
+    private void playMatch(Player x, Player o) {
+        activeMatches.incrementAndGet();
+        Board board = new Board(size, winLength);
+        int[] moves = new int[size * size];
+        Player[] players = {x, o};
+        x.send("START X " + o.name);
+        o.send("START O " + x.name);
+
+        Player winner = null;
+        boolean aborted = false;
+        int turn = 0;
+        while (true) {
+            Player mover = players[turn];
+            Player other = players[1 - turn];
+            mover.send("TURN");
+            String line = mover.read();
+            if (line == null) {
+                // forfeit, unless the leaver never moved (e.g. gone while waiting for an opponent)
+                if (board.getMoveCount() < 2) aborted = true;
+                else winner = other;
+                closeQuietly(mover);
+                break;
+            }
+            int cell = parseMove(line.trim(), board);
+            if (cell < 0) {
+                mover.send("ERR expected MOVE row col on an empty cell");
+                continue;
+            }
+            board.place(cell, turn == 0 ? Board.X : Board.O);
+            moves[board.getMoveCount() - 1] = cell;
+            movesPlayed.incrementAndGet();
+            mover.send("OK");
+            other.send("OPPONENT " + cell / size + " " + cell % size);
+            if (board.hasWinner()) {
+                winner = mover;
+                break;
+            }
+            if (board.isFull()) break;
+            turn = 1 - turn;
+        }
+
+        boolean forfeit = !aborted && !board.hasWinner() && !board.isFull();
+        if (!aborted && !forfeit) gameLog.append(GameRecord.of(board, x.name, o.name, moves));
+
+        if (aborted) {
+            for (Player p : players) p.send("END ABORTED");
+        } else if (winner == null) {
+            for (Player p : players) p.send("END DRAW");
+        } else {
+            Player loser = winner == x ? o : x;
+            winner.send("END WIN");
+            loser.send("END LOSS");
+            scoreboard.addWin(winner.name);
+            scoreboard.addLoss(loser.name);
+            writer.requestSave();
+        }
+        if (!aborted) matchesPlayed.incrementAndGet();
+        activeMatches.decrementAndGet();
+        x.matchOver.countDown();
+        o.matchOver.countDown();
+    }
+
+    /** Cell index of a valid "MOVE row col" on an empty cell, else -1. */
+    private int parseMove(String line, Board board) {
+        if (!line.startsWith("MOVE ")) return -1;
+        int space = line.indexOf(' ', 5);
+        if (space < 0) return -1;
+        try {
+            int row = Integer.parseInt(line.substring(5, space).trim());
+            int col = Integer.parseInt(line.substring(space + 1).trim());
+            if (row < 0 || row >= size || col < 0 || col >= size) return -1;
+            int cell = board.cellIndex(row, col);
+            return board.isEmpty(cell) ? cell : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void closeQuietly(Player p) {
+        try {
+            p.socket.close();
+        } catch (IOException ignore) {
+            // already gone
+        }
+    }
+
+    /* ---------------------
+       Lifecycle
+       --------------------- */
+
+    /**
+     * Stop accepting, drop connections and flush the scoreboard.
+     */
+    @Override
+    public void close() {
+        try {
+            server.close();
+        } catch (IOException ignore) {
+            // closing anyway
+        }
+        threads.shutdownNow();
+        writer.close();
+        try {
+            gameLog.close();
+        } catch (IOException e) {
+            System.err.println("Failed to write game log: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Usage: GameServer [port] [size] [winLength]
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int winLength = args.length > 2 ? Integer.parseInt(args[2]) : size;
+
+        GameServer gs = new GameServer(port, size, winLength, new ConcurrentScoreboard());
+        System.out.printf("Serving %dx%d, %d in a row, on port %d%n", size, size, winLength, gs.getPort());
+        Runtime.getRuntime().addShutdownHook(new Thread(gs::close, "server-shutdown"));
+
+        Thread.ofVirtual().name("server-status").start(() -> {
+            long lastMatches = 0;
+            while (true) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long m = gs.getMatchesPlayed();
+                System.out.printf("connections=%d, active matches=%d, matches=%d (%.0f/s), moves=%d%n",
+                        gs.getConnectionCount(), gs.getActiveMatchCount(), m, (m - lastMatches) / 10.0,
+                        gs.getMovesPlayed());
+                lastMatches = m;
+            }
+        });
+        gs.serve();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+/**
+ * One-ply heuristic: win if possible, otherwise block the opponent's win,
+ * otherwise take the centre, otherwise play randomly.
+ * Not thread-safe: give each thread its own instance (and random generator).
+ */
+public class HeuristicPlayer implements ComputerPlayer {
+
+    private final SplittableRandom rng;
+
+    public HeuristicPlayer(SplittableRandom rng) { this.rng = rng; }
+
+    @Override
+    public int chooseMove(Board board) {
+        if (board.hasWinner() || board.isFull()) return -1;
+        byte me = board.toMove();
+        byte opponent = me == Board.X ? Board.O : Board.X;
+
+        int move = completingMove(board, me);
+        if (move < 0) move = completingMove(board, opponent);
+        if (move >= 0) return move;
+
+        int centre = board.cellIndex(board.getSize() / 2, board.getSize() / 2);
+        if (board.isEmpty(centre)) return centre;
+
+        int empty = board.getCellCount() - board.getMoveCount();
+        return RandomPlayer.nthEmpty(board, rng.nextInt(empty));
+    }
+
+    /**
+     * First empty cell where {@code mark} would complete a line, or -1.
+     */
+    private static int completingMove(Board board, byte mark) {
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            if (!board.isEmpty(cell)) continue;
+            board.place(cell, mark);
+            boolean wins = board.hasWinner();
+            board.clear(cell);
+            if (wins) return cell;
+        }
+        return -1;
+    }
+}
@@ -1,9 +1,22 @@
 package org.example;
 
 import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class Main {
     public static void main(String[] args) {
+        // read the scoreboard while the menu and dialogs are up; the game waits for it only when it needs stats
+        CompletableFuture<Scoreboard> scoreboard = loadScoreboardAsync();
+        if (Boolean.getBoolean("startup.check")) {
+            startupCheck(scoreboard);
+            return;
+        }
+
         SwingUtilities.invokeLater(() -> {
             // Show main menu with "Start Game" button
             JFrame frame = new JFrame("Tic-Tac-Toe");
@@ -17,13 +30,29 @@ public class Main {
 
             startButton.addActionListener(e -> {
                 frame.dispose(); // close menu
+                String[] modes = {"Two Players", "vs. Computer"};
+                boolean vsComputer = JOptionPane.showOptionDialog(null, "Choose a mode:", "Tic-Tac-Toe",
+                        JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, modes, modes[0]) == 1;
+
                 String player1 = JOptionPane.showInputDialog(null, "Enter Player 1 nickname:", "Tic-Tac-Toe", JOptionPane.QUESTION_MESSAGE);
                 if (player1 == null || player1.isBlank()) player1 = "Player1";
 
-                String player2 = JOptionPane.showInputDialog(null, "Enter Player 2 nickname:", "Tic-Tac-Toe", JOptionPane.QUESTION_MESSAGE);
-                if (player2 == null || player2.isBlank()) player2 = "Player2";
+                String player2 = "Computer";
+                if (!vsComputer) {
+                    player2 = JOptionPane.showInputDialog(null, "Enter Player 2 nickname:", "Tic-Tac-Toe", JOptionPane.QUESTION_MESSAGE);
+                    if (player2 == null || player2.isBlank()) player2 = "Player2";
+                }
+
+                String[] variants = {"Classic 3x3", "Gomoku 15x15 (5 in a row)"};
+                int variant = JOptionPane.showOptionDialog(null, "Choose a board:", "Tic-Tac-Toe",
+                        JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, variants, variants[0]);
+                Board board = variant == 1 ? new Board(15, 5) : new Board();
 
-                TicTacToeGame game = new TicTacToeGame(player1, player2);
+                // solved table on the classic board, tree search on anything larger
+                ComputerPlayer computer = null;
+                if (vsComputer) computer = PerfectPlayer.supports(board) ? new PerfectPlayer() : new MctsPlayer(2000);
+
+                TicTacToeGame game = new TicTacToeGame(player1, player2, scoreboard, board, computer);
                 game.setTitle("Tic-Tac-Toe");
                 game.setSize(500, 600);
                 game.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -34,4 +63,78 @@ public class Main {
             frame.setVisible(true);
         });
     }
+
+    /**
+     * Start loading the scoreboard on its own thread.
+     * -Dscoreboard.shared=true: several game processes merge into one scoreboard file.
+     * -Dscoreboard.binary=true: memory-mapped scoreboard.bin (converted from scoreboard.txt once),
+     * opened in O(1) whatever the player count.
+     */
+    static CompletableFuture<Scoreboard> loadScoreboardAsync() {
+        return loadAsync(Main::openScoreboard, "scoreboard-load");
+    }
+
+    private static Scoreboard openScoreboard() {
+        if (Boolean.getBoolean("scoreboard.shared")) return new SharedScoreboard();
+        if (Boolean.getBoolean("scoreboard.binary")) {
+            try {
+                return new BinaryScoreboard();
+            } catch (IOException e) {
+                System.err.println("Failed to open binary scoreboard, using " + Scoreboard.FILE + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        return new Scoreboard();
+    }
+
+    /**
+     * Run a file load on its own daemon thread; reading only, so quitting early must not wait for it.
+     */
+    static <T> CompletableFuture<T> loadAsync(Supplier<T> load, String threadName) {
+        return CompletableFuture.supplyAsync(load, task -> {
+            Thread t = new Thread(task, threadName);
+            t.setDaemon(true);
+            t.start();
+        });
+    }
+
+    /* ---------------------
+       Startup check (-Dstartup.check=true)
+       --------------------- */
+
+    /**
+     * Open a game window with default players (or, without a display, paint a board offscreen),
+     * print how long after JVM start the window and the scoreboard were ready, and exit.
+     * Used by the {@code startupCheck} and {@code cdsArchive} Gradle tasks.
+     */
+    private static void startupCheck(CompletableFuture<Scoreboard> scoreboard) {
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                if (GraphicsEnvironment.isHeadless()) {
+                    BoardView view = new BoardView(3);
+                    view.setSize(view.getPreferredSize());
+                    BufferedImage image = new BufferedImage(view.getWidth(), view.getHeight(), BufferedImage.TYPE_INT_RGB);
+                    Graphics2D g = image.createGraphics();
+                    view.paint(g);
+                    g.dispose();
+                } else {
+                    TicTacToeGame game = new TicTacToeGame("Player1", "Player2", scoreboard, new Board(), null);
+                    game.setVisible(true);
+                    game.dispose();
+                }
+            });
+            long shown = sinceJvmStart();
+            int players = scoreboard.join().getPlayerCount();
+            System.out.printf("window ready after %d ms, scoreboard (%,d players) after %d ms%n",
+                    shown, players, sinceJvmStart());
+        } catch (Exception e) {
+            System.err.println("Startup check failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(0);
+    }
+
+    private static long sinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
 }
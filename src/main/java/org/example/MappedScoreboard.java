@@ -0,0 +1,440 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Scoreboard kept in a binary file that is memory-mapped instead of parsed.
+ * Opening is O(1) whatever the player count; a lookup touches one or two slots plus the
+ * player's name, and wins/losses are updated in place in the mapped pages.
+ * File layout (little-endian):
+ *   header  32 bytes   magic, version, slot count, player count, end of name area
+ *   slots   16 bytes   name hash, name reference (0 = empty), wins, losses
+ *   names   2-byte length + UTF-8 bytes, appended as players are added
+ * Slots form an open-addressing hash table (linear probing, like {@link PlayerRecords}).
+ * When the table or the name area fills up the file is rebuilt at twice the size
+ * and swapped in atomically; that also reclaims the names of removed players.
+ * Use {@link #fromCsv(File, File)} and {@link #toCsv(File, File)} to migrate between formats.
+ * Responsibilities:
+ *  - O(1) open and in-place record updates on the mapped file
+ *  - the same record operations as {@link Scoreboard}
+ *  - conversion to and from the CSV scoreboard
+ */
+public class MappedScoreboard implements Closeable {
+
+    private static final int MAGIC = 0x42535454;  // "TTSB"
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 32;
+    private static final int SLOT_BYTES = 16;
+    private static final int OFF_SLOTS = 8;
+    private static final int OFF_SIZE = 12;
+    private static final int OFF_NAMES_END = 16;
+
+    private static final int MIN_SLOTS = 1024;
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private final File file;
+    private MappedByteBuffer buf;
+    private int slotCount;
+    private int mask;
+    private int namesStart;
+
+    /**
+     * Map an existing binary scoreboard, or create an empty one if the file does not exist.
+     */
+    public MappedScoreboard(File file) throws IOException {
+        this.file = file;
+        if (!file.exists() || file.length() == 0) {
+            File temp = new File(file.getPath() + ".tmp");
+            create(temp, MIN_SLOTS, MIN_SLOTS * 16L).force();
+            Scoreboard.replaceFile(temp, file);
+        }
+        map();
+    }
+
+    /* ---------------------
+       Basic access & updates
+       --------------------- */
+
+    public synchronized int getWins(String player) {
+        int slot = find(encode(validName(player)));
+        return slot < 0 ? 0 : buf.getInt(slot + 8);
+    }
+
+    public synchronized int getLosses(String player) {
+        int slot = find(encode(validName(player)));
+        return slot < 0 ? 0 : buf.getInt(slot + 12);
+    }
+
+    public synchronized int getPlayerCount() {
+        return buf.getInt(OFF_SIZE);
+    }
+
+    public synchronized void addWin(String player) {
+        int slot = findOrAdd(encode(validName(player)));
+        buf.putInt(slot + 8, buf.getInt(slot + 8) + 1);
+    }
+
+    public synchronized void addLoss(String player) {
+        int slot = findOrAdd(encode(validName(player)));
+        buf.putInt(slot + 12, buf.getInt(slot + 12) + 1);
+    }
+
+    /**
+     * Set record explicitly (overwrites).
+     */
+    public synchronized void setRecord(String player, int winCount, int lossCount) {
+        int slot = findOrAdd(encode(validName(player)));
+        buf.putInt(slot + 8, Math.max(0, winCount));
+        buf.putInt(slot + 12, Math.max(0, lossCount));
+    }
+
+    /**
+     * Remove a player from the scoreboard entirely.
+     */
+    public synchronized void removePlayer(String player) {
+        int slot = find(encode(validName(player)));
+        if (slot >= 0) removeSlot(slot);
+    }
+
+    /**
+     * Rename a player (migrate stats). If the target name already exists,
+     * the stats are merged by summing wins/losses.
+     */
+    public synchronized void renamePlayer(String oldName, String newName) {
+        String o = validName(oldName);
+        String n = validName(newName);
+        if (o.equals(n)) return;
+        int oWins = getWins(o);
+        int oLosses = getLosses(o);
+        if (oWins == 0 && oLosses == 0) {
+            findOrAdd(encode(n)); // nothing to migrate; just ensure new exists
+        } else {
+            setRecord(n, getWins(n) + oWins, getLosses(n) + oLosses);
+        }
+        removePlayer(o);
+    }
+
+    /**
+     * Returns players sorted alphabetically. Reads every name, so O(n).
+     */
+    public synchronized List<String> getSortedPlayers() {
+        List<String> list = new ArrayList<>(getPlayerCount());
+        for (int i = 0; i < slotCount; i++) {
+            int slot = slotOffset(i);
+            if (buf.getInt(slot + 4) != 0) list.add(nameAt(slot));
+        }
+        list.sort(String.CASE_INSENSITIVE_ORDER);
+        return list;
+    }
+
+    /**
+     * First {@code count} players by wins descending, then losses ascending, then name.
+     * The file has no ranked index, so this scans every slot.
+     */
+    public synchronized List<String> getTopPlayers(int count) {
+        List<Integer> slots = new ArrayList<>(getPlayerCount());
+        for (int i = 0; i < slotCount; i++) {
+            int slot = slotOffset(i);
+            if (buf.getInt(slot + 4) != 0) slots.add(slot);
+        }
+        slots.sort(Comparator.<Integer>comparingInt(s -> -buf.getInt(s + 8))
+                .thenComparingInt(s -> buf.getInt(s + 12))
+                .thenComparing(this::nameAt, String.CASE_INSENSITIVE_ORDER));
+        List<String> out = new ArrayList<>(Math.min(Math.max(0, count), slots.size()));
+        for (int i = 0; i < slots.size() && i < count; i++) out.add(nameAt(slots.get(i)));
+        return out;
+    }
+
+    /**
+     * Every record, in slot order. Reads every name, so O(n).
+     */
+    synchronized Scoreboard.Snapshot snapshot() {
+        int n = getPlayerCount();
+        String[] names = new String[n];
+        long[] packed = new long[n];
+        int k = 0;
+        for (int i = 0; i < slotCount; i++) {
+            int slot = slotOffset(i);
+            if (buf.getInt(slot + 4) == 0) continue;
+            names[k] = nameAt(slot);
+            packed[k++] = PlayerRecords.pack(buf.getInt(slot + 8), buf.getInt(slot + 12));
+        }
+        return new Scoreboard.Snapshot(names, packed);
+    }
+
+    /* ---------------------
+       Save / Close (IO)
+       --------------------- */
+
+    /**
+     * Force the mapped pages to disk. Updates are visible in the file before this,
+     * but only durable after it.
+     */
+    public synchronized void save() {
+        buf.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        save();
+    }
+
+    /* ---------------------
+       CSV conversion
+       --------------------- */
+
+    /**
+     * Write a binary scoreboard holding the records of a CSV scoreboard
+     * (its journal, if any, is replayed first). Replaces {@code binary} atomically.
+     */
+    public static void fromCsv(File csv, File binary) throws IOException {
+        Scoreboard source = new Scoreboard(csv);
+        List<String> names = source.getSortedPlayers();
+        byte[][] encoded = new byte[names.size()][];
+        long nameBytes = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encode(names.get(i));
+            nameBytes += 2 + encoded[i].length;
+        }
+
+        File temp = new File(binary.getPath() + ".tmp");
+        MappedByteBuffer b = create(temp, slotsFor(encoded.length), Math.max(MIN_SLOTS * 16L, nameBytes * 2));
+        for (int i = 0; i < encoded.length; i++) {
+            String name = names.get(i);
+            insert(b, encoded[i], hash(encoded[i]), source.getWins(name), source.getLosses(name));
+        }
+        b.force();
+        Scoreboard.replaceFile(temp, binary);
+    }
+
+    /**
+     * Write the records of a binary scoreboard as a CSV scoreboard. Replaces {@code csv} atomically.
+     */
+    public static void toCsv(File binary, File csv) throws IOException {
+        File temp = new File(csv.getPath() + ".convert.tmp");
+        temp.delete();
+        Scoreboard target = new Scoreboard(temp);
+        try (MappedScoreboard source = new MappedScoreboard(binary)) {
+            synchronized (source) {
+                for (int i = 0; i < source.slotCount; i++) {
+                    int slot = source.slotOffset(i);
+                    if (source.buf.getInt(slot + 4) == 0) continue;
+                    target.setRecord(source.nameAt(slot), source.buf.getInt(slot + 8), source.buf.getInt(slot + 12));
+                }
+            }
+        }
+        target.save();
+        if (!temp.exists()) throw new IOException("Failed to write " + temp);
+        Scoreboard.replaceFile(temp, csv);
+    }
+
+    /**
+     * Command-line converter: {@code to-binary <csv> <bin>} or {@code to-csv <bin> <csv>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[0].equals("to-binary") || args[0].equals("to-csv"))) {
+            System.err.println("Usage: MappedScoreboard to-binary <csv> <bin> | to-csv <bin> <csv>");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        if (args[0].equals("to-binary")) fromCsv(new File(args[1]), new File(args[2]));
+        else toCsv(new File(args[1]), new File(args[2]));
+        System.out.printf("Converted %s -> %s in %.1f ms%n", args[1], args[2], (System.nanoTime() - start) / 1e6);
+    }
+
+    /* ---------------------
+       Hash table on the mapped file
+       --------------------- */
+
+    private void map() throws IOException {
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (ch.size() < HEADER_BYTES || ch.size() > Integer.MAX_VALUE)
+                throw new IOException("Not a binary scoreboard: " + file);
+            buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, ch.size());
+        }
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION)
+            throw new IOException("Not a binary scoreboard (or unsupported version): " + file);
+        slotCount = buf.getInt(OFF_SLOTS);
+        mask = slotCount - 1;
+        namesStart = HEADER_BYTES + slotCount * SLOT_BYTES;
+    }
+
+    private int slotOffset(int index) { return HEADER_BYTES + index * SLOT_BYTES; }
+
+    /** Offset of the player's slot, or -1. */
+    private int find(byte[] name) {
+        int h = hash(name);
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            int slot = slotOffset(i);
+            int ref = buf.getInt(slot + 4);
+            if (ref == 0) return -1;
+            if (buf.getInt(slot) == h && nameEquals(buf, namesStart + ref - 1, name)) return slot;
+        }
+    }
+
+    private int findOrAdd(byte[] name) {
+        int slot = find(name);
+        if (slot >= 0) return slot;
+        if (name.length > MAX_NAME_BYTES) throw new IllegalArgumentException("Player name too long");
+
+        long namesEnd = buf.getLong(OFF_NAMES_END);
+        boolean tableFull = getPlayerCount() + 1 > slotCount * LOAD_FACTOR;
+        boolean namesFull = namesEnd + 2 + name.length > buf.capacity();
+        if (tableFull || namesFull) {
+            grow(tableFull ? slotCount * 2 : slotCount, name.length);
+        }
+        return insert(buf, name, hash(name), 0, 0);
+    }
+
+    /**
+     * Rebuild into a larger file and swap it in. Live names are copied, removed ones dropped.
+     */
+    private void grow(int newSlots, int extraNameBytes) {
+        long liveBytes = 0;
+        for (int i = 0; i < slotCount; i++) {
+            int slot = slotOffset(i);
+            int ref = buf.getInt(slot + 4);
+            if (ref != 0) liveBytes += 2 + (buf.getShort(namesStart + ref - 1) & 0xFFFF);
+        }
+        long nameCapacity = Math.max(MIN_SLOTS * 16L, (liveBytes + 2 + extraNameBytes) * 2);
+
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            MappedByteBuffer b = create(temp, newSlots, nameCapacity);
+            for (int i = 0; i < slotCount; i++) {
+                int slot = slotOffset(i);
+                int ref = buf.getInt(slot + 4);
+                if (ref == 0) continue;
+                insert(b, nameBytes(slot), buf.getInt(slot), buf.getInt(slot + 8), buf.getInt(slot + 12));
+            }
+            b.force();
+            Scoreboard.replaceFile(temp, file);
+            map();
+        } catch (IOException e) {
+            temp.delete();
+            throw new UncheckedIOException("Failed to grow binary scoreboard", e);
+        }
+    }
+
+    /**
+     * Backward-shift deletion, as in {@link PlayerRecords}. The name bytes stay behind
+     * until the next rebuild.
+     */
+    private void removeSlot(int slot) {
+        int hole = (slot - HEADER_BYTES) / SLOT_BYTES;
+        for (int j = (hole + 1) & mask; buf.getInt(slotOffset(j) + 4) != 0; j = (j + 1) & mask) {
+            int home = buf.getInt(slotOffset(j)) & mask;
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                int from = slotOffset(j), to = slotOffset(hole);
+                buf.putLong(to, buf.getLong(from));
+                buf.putLong(to + 8, buf.getLong(from + 8));
+                hole = j;
+            }
+        }
+        int h = slotOffset(hole);
+        buf.putLong(h, 0L);
+        buf.putLong(h + 8, 0L);
+        buf.putInt(OFF_SIZE, getPlayerCount() - 1);
+    }
+
+    private String nameAt(int slot) {
+        return new String(nameBytes(slot), StandardCharsets.UTF_8);
+    }
+
+    private byte[] nameBytes(int slot) {
+        int at = namesStart + buf.getInt(slot + 4) - 1;
+        byte[] name = new byte[buf.getShort(at) & 0xFFFF];
+        buf.get(at + 2, name);
+        return name;
+    }
+
+    /* ---------------------
+       File image helpers (work on any mapped scoreboard buffer)
+       --------------------- */
+
+    /**
+     * Create a zero-filled file with an empty table of the given size and map it.
+     */
+    private static MappedByteBuffer create(File f, int slots, long nameCapacity) throws IOException {
+        long size = HEADER_BYTES + (long) slots * SLOT_BYTES + nameCapacity;
+        if (size > Integer.MAX_VALUE) throw new IOException("Binary scoreboard would exceed 2 GB");
+        MappedByteBuffer b;
+        try (FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            b = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        b.order(ByteOrder.LITTLE_ENDIAN);
+        b.putInt(0, MAGIC);
+        b.putInt(4, VERSION);
+        b.putInt(OFF_SLOTS, slots);
+        b.putInt(OFF_SIZE, 0);
+        b.putLong(OFF_NAMES_END, HEADER_BYTES + (long) slots * SLOT_BYTES);
+        return b;
+    }
+
+    /**
+     * Append the name and claim a free slot for it; the caller has checked that both fit.
+     * Returns the slot offset.
+     */
+    private static int insert(MappedByteBuffer b, byte[] name, int h, int wins, int losses) {
+        int slots = b.getInt(OFF_SLOTS);
+        int m = slots - 1;
+        int start = HEADER_BYTES + slots * SLOT_BYTES;
+        int i = h & m;
+        while (b.getInt(HEADER_BYTES + i * SLOT_BYTES + 4) != 0) i = (i + 1) & m;
+
+        int at = (int) b.getLong(OFF_NAMES_END);
+        b.putShort(at, (short) name.length);
+        b.put(at + 2, name);
+        b.putLong(OFF_NAMES_END, at + 2L + name.length);
+
+        int slot = HEADER_BYTES + i * SLOT_BYTES;
+        b.putInt(slot, h);
+        b.putInt(slot + 8, wins);
+        b.putInt(slot + 12, losses);
+        b.putInt(slot + 4, at - start + 1); // written last: marks the slot as used
+        b.putInt(OFF_SIZE, b.getInt(OFF_SIZE) + 1);
+        return slot;
+    }
+
+    private static boolean nameEquals(MappedByteBuffer b, int at, byte[] name) {
+        if ((b.getShort(at) & 0xFFFF) != name.length) return false;
+        for (int i = 0; i < name.length; i++)
+            if (b.get(at + 2 + i) != name[i]) return false;
+        return true;
+    }
+
+    private static int slotsFor(int players) {
+        int slots = MIN_SLOTS;
+        while (players > slots * LOAD_FACTOR) slots *= 2;
+        return slots;
+    }
+
+    private static int hash(byte[] name) {
+        int h = Arrays.hashCode(name) * 0x9E3779B9; // spread over the high bits, as in PlayerRecords
+        return h ^ (h >>> 16);
+    }
+
+    private static byte[] encode(String name) { return name.getBytes(StandardCharsets.UTF_8); }
+
+    private static String validName(String name) {
+        if (name == null) return "";
+        return name.trim();
+    }
+}
@@ -0,0 +1,305 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Monte Carlo Tree Search opponent for boards too large to solve exhaustively.
+ * Root-parallel: every worker of the pool grows its own UCT tree from a private copy of
+ * the position until the time or playout budget runs out, then the root visit counts of
+ * all trees are summed and the most visited move is played.
+ * A seeded player instead grows one tree on the calling thread for a fixed number of playouts,
+ * so its moves are reproducible and it adds no threads to callers that already use every core.
+ * Responsibilities:
+ *  - search within a per-move budget (wall-clock time and/or number of playouts)
+ *  - report playouts per second of the last search for tuning
+ */
+public class MctsPlayer implements ComputerPlayer {
+
+    private static final double EXPLORATION = 1.41;
+    private static final int NEIGHBOURHOOD = 2;     // tree moves stay this close to existing marks
+    private static final int SMALL_BOARD = 5;       // boards up to this size consider every empty cell
+
+    /** One worker per core; the common pool leaves one core to the caller, which only waits here. */
+    private static final ForkJoinPool SEARCH_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final long timeBudgetMillis;
+    private final long playoutBudget;
+    private final ForkJoinPool pool;         // null when searching on the calling thread
+    private final SplittableRandom rng;      // seeded single-tree search; null for root-parallel
+
+    private volatile Stats lastStats = new Stats(0, 0, 0);
+
+    /**
+     * Search each move for the given time, using every core.
+     */
+    public MctsPlayer(long timeBudgetMillis) {
+        this(timeBudgetMillis, Long.MAX_VALUE, SEARCH_POOL);
+    }
+
+    /**
+     * @param timeBudgetMillis wall-clock limit per move
+     * @param playoutBudget    total playouts per move across all workers
+     * @param pool             pool whose parallelism decides the number of trees
+     */
+    public MctsPlayer(long timeBudgetMillis, long playoutBudget, ForkJoinPool pool) {
+        if (timeBudgetMillis <= 0) throw new IllegalArgumentException("Time budget must be positive");
+        if (playoutBudget <= 0) throw new IllegalArgumentException("Playout budget must be positive");
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.playoutBudget = playoutBudget;
+        this.pool = pool;
+        this.rng = null;
+    }
+
+    /**
+     * Single-threaded, reproducible search: {@code playoutBudget} playouts per move on the
+     * calling thread with random numbers from {@code rng}, and no time limit. Not thread-safe.
+     */
+    public MctsPlayer(long playoutBudget, SplittableRandom rng) {
+        if (playoutBudget <= 0) throw new IllegalArgumentException("Playout budget must be positive");
+        this.timeBudgetMillis = Long.MAX_VALUE;
+        this.playoutBudget = playoutBudget;
+        this.pool = null;
+        this.rng = rng;
+    }
+
+    /**
+     * Playout count, duration and worker count of a search.
+     */
+    public record Stats(long playouts, long elapsedNanos, int workers) {
+        public double playoutsPerSecond() {
+            return elapsedNanos == 0 ? 0 : playouts * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d playouts in %.0f ms on %d workers (%,.0f playouts/s)",
+                    playouts, elapsedNanos / 1e6, workers, playoutsPerSecond());
+        }
+    }
+
+    public Stats getLastStats() { return lastStats; }
+
+    /* ---------------------
+       Move selection
+       --------------------- */
+
+    @Override
+    public int chooseMove(Board board) {
+        if (board.hasWinner() || board.isFull()) return -1;
+        if (rng != null) return chooseSeeded(board);
+
+        int workers = pool.getParallelism();
+        long start = System.nanoTime();
+        long budgetNanos = timeBudgetMillis >= Long.MAX_VALUE / 1_000_000L ? Long.MAX_VALUE : timeBudgetMillis * 1_000_000L;
+        long perWorker = Math.max(1, playoutBudget / workers);
+
+        List<Callable<long[]>> searches = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            Board copy = board.copy();
+            searches.add(() -> new Search(copy, ThreadLocalRandom.current()).run(start, budgetNanos, perWorker));
+        }
+
+        // last slot of each result holds the worker's playout count
+        long[] visits = new long[board.getCellCount() + 1];
+        for (Future<long[]> f : pool.invokeAll(searches)) {
+            long[] v = join(f);
+            for (int i = 0; i < visits.length; i++) visits[i] += v[i];
+        }
+        lastStats = new Stats(visits[visits.length - 1], System.nanoTime() - start, workers);
+        return mostVisited(board, visits);
+    }
+
+    private int chooseSeeded(Board board) {
+        long start = System.nanoTime();
+        long[] visits = new Search(board.copy(), rng).run(start, Long.MAX_VALUE, playoutBudget);
+        lastStats = new Stats(visits[visits.length - 1], System.nanoTime() - start, 1);
+        return mostVisited(board, visits);
+    }
+
+    private static int mostVisited(Board board, long[] visits) {
+        int best = -1;
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            if (!board.isEmpty(cell)) continue;
+            if (best < 0 || visits[cell] > visits[best]) best = cell;
+        }
+        return best;
+    }
+
+    private static long[] join(Future<long[]> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+    }
+
+    /* ---------------------
+       Single-tree search
+       --------------------- */
+
+    private static final class Node {
+        final int move;         // cell played to reach this node, -1 at the root
+        final byte mover;       // mark that played it
+        final Node parent;
+        final int[] untried;
+        int untriedCount;
+        final Node[] children;
+        int childCount;
+        int visits;
+        double wins;            // from the mover's point of view, draws count half
+
+        Node(int move, byte mover, Node parent, Board board) {
+            this.move = move;
+            this.mover = mover;
+            this.parent = parent;
+            this.untried = board.hasWinner() ? new int[0] : candidateMoves(board);
+            this.untriedCount = untried.length;
+            this.children = new Node[untried.length];
+        }
+
+        Node selectChild() {
+            double logN = Math.log(visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < childCount; i++) {
+                Node c = children[i];
+                double value = c.wins / c.visits + EXPLORATION * Math.sqrt(logN / c.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = c;
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class Search {
+        private final Board board;
+        private final int[] path;       // cells placed in the current iteration, for undo
+        private final int[] empties;    // scratch list for playouts
+        private final RandomGenerator rng;
+
+        Search(Board board, RandomGenerator rng) {
+            this.board = board;
+            this.rng = rng;
+            this.path = new int[board.getCellCount()];
+            this.empties = new int[board.getCellCount()];
+        }
+
+        /**
+         * Search until {@code budget} playouts or {@code budgetNanos} after {@code start}
+         * (compared as elapsed time, so neither a saturated budget nor nanoTime wrap-around overflows).
+         */
+        long[] run(long start, long budgetNanos, long budget) {
+            Node root = new Node(-1, Board.EMPTY, null, board);
+            long playouts = 0;
+
+            // the clock is only read every 64 playouts
+            while (playouts < budget && ((playouts & 63) != 0 || System.nanoTime() - start < budgetNanos)) {
+                Node node = root;
+                int depth = 0;
+
+                // selection
+                while (node.untriedCount == 0 && node.childCount > 0) {
+                    node = node.selectChild();
+                    board.place(node.move, node.mover);
+                    path[depth++] = node.move;
+                }
+
+                // expansion
+                if (node.untriedCount > 0) {
+                    int i = rng.nextInt(node.untriedCount);
+                    int cell = node.untried[i];
+                    node.untried[i] = node.untried[--node.untriedCount];
+                    byte mark = board.toMove();
+                    board.place(cell, mark);
+                    path[depth++] = cell;
+                    Node child = new Node(cell, mark, node, board);
+                    node.children[node.childCount++] = child;
+                    node = child;
+                }
+
+                // simulation
+                int end = playout(depth);
+                byte winner = board.winner();
+
+                // backpropagation
+                for (Node n = node; n != null; n = n.parent) {
+                    n.visits++;
+                    if (winner == Board.EMPTY) n.wins += 0.5;
+                    else if (winner == n.mover) n.wins += 1;
+                }
+
+                for (int i = end - 1; i >= 0; i--) board.clear(path[i]);
+                playouts++;
+            }
+
+            long[] result = new long[board.getCellCount() + 1];
+            for (int i = 0; i < root.childCount; i++) result[root.children[i].move] = root.children[i].visits;
+            result[result.length - 1] = playouts;
+            return result;
+        }
+
+        /**
+         * Random moves until the game ends. Returns the new path length.
+         */
+        private int playout(int depth) {
+            int n = 0;
+            if (!board.hasWinner()) {
+                for (int cell = 0; cell < board.getCellCount(); cell++)
+                    if (board.isEmpty(cell)) empties[n++] = cell;
+            }
+            byte mark = board.toMove();
+            while (n > 0 && !board.hasWinner()) {
+                int i = rng.nextInt(n);
+                int cell = empties[i];
+                empties[i] = empties[--n];
+                board.place(cell, mark);
+                path[depth++] = cell;
+                mark = mark == Board.X ? Board.O : Board.X;
+            }
+            return depth;
+        }
+    }
+
+    /**
+     * Empty cells worth searching: all of them on small boards, otherwise those near a mark.
+     */
+    private static int[] candidateMoves(Board board) {
+        int size = board.getSize();
+        int[] moves = new int[board.getCellCount()];
+        int n = 0;
+
+        if (board.getMoveCount() == 0 && size > SMALL_BOARD) {
+            return new int[]{board.cellIndex(size / 2, size / 2)};
+        }
+
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int cell = board.cellIndex(r, c);
+                if (!board.isEmpty(cell)) continue;
+                if (size <= SMALL_BOARD || hasNeighbour(board, r, c)) moves[n++] = cell;
+            }
+        }
+        return java.util.Arrays.copyOf(moves, n);
+    }
+
+    private static boolean hasNeighbour(Board board, int row, int col) {
+        int size = board.getSize();
+        for (int r = Math.max(0, row - NEIGHBOURHOOD); r <= Math.min(size - 1, row + NEIGHBOURHOOD); r++)
+            for (int c = Math.max(0, col - NEIGHBOURHOOD); c <= Math.min(size - 1, col + NEIGHBOURHOOD); c++)
+                if (!board.isEmpty(board.cellIndex(r, c))) return true;
+        return false;
+    }
+}
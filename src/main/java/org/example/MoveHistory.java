@@ -0,0 +1,87 @@
+package org.example;
+
+import java.util.ArrayDeque;
+
+/**
+ * Undo/redo over a line of {@link Position}s.
+ * The current position links back to the start, so undo just steps to its parent; undone
+ * positions wait on a redo stack until a different move is played. Undo and redo are O(1);
+ * play is O(1) amortized (a new line drops the redo stack, each entry once).
+ * Not thread-safe; the game owns it on the EDT.
+ */
+public class MoveHistory {
+
+    private final int size;
+    private final int winLength;
+    private Position current;
+    private final ArrayDeque<Position> redo = new ArrayDeque<>();
+
+    public MoveHistory(int size, int winLength) {
+        this.size = size;
+        this.winLength = winLength;
+        this.current = Position.start(size, winLength);
+    }
+
+    /* ---------------------
+       Updates
+       --------------------- */
+
+    /**
+     * Play {@code cell} from the current position. Playing the move that would be redone
+     * keeps the rest of the redo stack; any other move drops it.
+     */
+    public Position play(int cell) {
+        Position next = redo.peek();
+        if (next != null && next.lastMove() == cell) {
+            redo.pop();
+        } else {
+            redo.clear();
+            next = current.play(cell);
+        }
+        current = next;
+        return next;
+    }
+
+    /**
+     * Take back the last move and return its cell.
+     */
+    public int undo() {
+        if (!canUndo()) throw new IllegalStateException("Nothing to undo");
+        int cell = current.lastMove();
+        redo.push(current);
+        current = current.parent();
+        return cell;
+    }
+
+    /**
+     * Play the last undone move again and return the new position.
+     */
+    public Position redo() {
+        if (!canRedo()) throw new IllegalStateException("Nothing to redo");
+        current = redo.pop();
+        return current;
+    }
+
+    public void reset() {
+        current = Position.start(size, winLength);
+        redo.clear();
+    }
+
+    /* ---------------------
+       Queries
+       --------------------- */
+
+    public Position current() { return current; }
+
+    public boolean canUndo() { return current.parent() != null; }
+
+    public boolean canRedo() { return !redo.isEmpty(); }
+
+    /**
+     * Cell that {@link #redo()} would play, or -1.
+     */
+    public int peekRedo() {
+        Position next = redo.peek();
+        return next == null ? -1 : next.lastMove();
+    }
+}
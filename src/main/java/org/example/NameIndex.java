@@ -0,0 +1,72 @@
+package org.example;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * Player names in case-insensitive order (as {@link Scoreboard#getSortedPlayers()}), kept up
+ * to date on every add and remove.
+ * Names sharing a prefix (ignoring case) are adjacent in this order, so a prefix is a
+ * position range found with two O(log n) descents.
+ * Backed by an {@link OrderStatisticTreap}, like {@link RankedIndex}:
+ *  - insert/remove are O(log n) expected
+ *  - counting the names with a prefix is O(log n)
+ *  - reading k names from any position is O(k + log n)
+ * Not thread-safe; {@link Scoreboard} owns and guards it.
+ */
+final class NameIndex {
+
+    private static final Comparator<String> ORDER = (a, b) -> {
+        int c = a.compareToIgnoreCase(b);
+        return c != 0 ? c : a.compareTo(b);
+    };
+
+    private final OrderStatisticTreap<String> treap = new OrderStatisticTreap<>(ORDER);
+
+    /* ---------------------
+       Updates
+       --------------------- */
+
+    void insert(String name) { treap.insert(name); }
+
+    /**
+     * Remove the name; no-op if absent.
+     */
+    void remove(String name) { treap.remove(name); }
+
+    void clear() { treap.clear(); }
+
+    /**
+     * Replace the contents with the given names (e.g. after a file load):
+     * one parallel sort and a linear bottom-up build.
+     */
+    void rebuild(String[] names, int count) { treap.rebuild(names, count); }
+
+    /* ---------------------
+       Queries
+       --------------------- */
+
+    int size() { return treap.size(); }
+
+    /**
+     * Zero-based position of the first name starting with {@code prefix} (ignoring case),
+     * or where it would be.
+     */
+    int prefixStart(String prefix) {
+        return treap.countWhile(name -> String.CASE_INSENSITIVE_ORDER.compare(name, prefix) < 0);
+    }
+
+    /**
+     * Zero-based position just past the last name starting with {@code prefix} (ignoring case).
+     */
+    int prefixEnd(String prefix) {
+        return treap.countWhile(name -> String.CASE_INSENSITIVE_ORDER.compare(name, prefix) < 0
+                || name.regionMatches(true, 0, prefix, 0, prefix.length()));
+    }
+
+    /**
+     * Visit {@code count} names in order starting at zero-based position {@code from},
+     * in O(log n + count).
+     */
+    void range(int from, int count, Consumer<String> visitor) { treap.range(from, count, visitor); }
+}
@@ -0,0 +1,241 @@
+package org.example;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Sorted multiset of keys with positions: a treap whose nodes also count their subtree size.
+ * The order comes from the {@link Comparator}; keys comparing equal are treated as the same entry
+ * by {@link #remove} and {@link #rankOf}. Backs {@link RankedIndex} and {@link NameIndex}.
+ * Responsibilities:
+ *  - insert/remove and position-of-key in O(log n) expected
+ *  - key at a position, and the length of an ordered prefix, in O(log n)
+ *  - reading k keys from any position in O(k + log n)
+ *  - linear bottom-up rebuild after one parallel sort
+ * Not thread-safe; the owning index's caller guards it.
+ */
+final class OrderStatisticTreap<K> {
+
+    private static final class Node<K> {
+        final K key;
+        final int priority;
+        Node<K> left, right;
+        int size = 1;
+
+        Node(K key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super K> order;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<K> root;
+
+    OrderStatisticTreap(Comparator<? super K> order) {
+        this.order = order;
+    }
+
+    /* ---------------------
+       Updates
+       --------------------- */
+
+    void insert(K key) {
+        root = insert(root, new Node<>(key, random.nextInt()));
+    }
+
+    /**
+     * Remove one entry comparing equal to {@code key}; no-op if absent.
+     */
+    void remove(K key) {
+        root = remove(root, key);
+    }
+
+    void clear() { root = null; }
+
+    /**
+     * Replace the contents with the first {@code count} keys.
+     * Sorts once (in parallel) and builds the treap bottom-up in linear time instead of n inserts.
+     */
+    void rebuild(K[] keys, int count) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<K>[] nodes = new Node[count];
+        for (int i = 0; i < count; i++) nodes[i] = new Node<>(keys[i], random.nextInt());
+        Arrays.parallelSort(nodes, (a, b) -> order.compare(a.key, b.key));
+
+        // Cartesian tree over the sorted nodes: the right spine lives on the stack
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<K>[] spine = new Node[count];
+        int top = -1;
+        for (Node<K> n : nodes) {
+            Node<K> last = null;
+            while (top >= 0 && spine[top].priority < n.priority) {
+                last = spine[top--];
+                update(last);
+            }
+            n.left = last;
+            if (top >= 0) spine[top].right = n;
+            spine[++top] = n;
+        }
+        while (top > 0) update(spine[top--]);
+        if (top == 0) update(spine[0]);
+        root = count == 0 ? null : spine[0];
+    }
+
+    /* ---------------------
+       Queries
+       --------------------- */
+
+    int size() { return size(root); }
+
+    /**
+     * Zero-based position of the entry comparing equal to {@code key}, or -1 if absent.
+     */
+    int rankOf(K key) {
+        int rank = 0;
+        Node<K> t = root;
+        while (t != null) {
+            int c = order.compare(key, t.key);
+            if (c < 0) {
+                t = t.left;
+            } else if (c > 0) {
+                rank += size(t.left) + 1;
+                t = t.right;
+            } else {
+                return rank + size(t.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Key at the given zero-based position.
+     */
+    K get(int rank) {
+        if (rank < 0 || rank >= size()) throw new IndexOutOfBoundsException("rank " + rank);
+        Node<K> t = root;
+        while (true) {
+            int leftSize = size(t.left);
+            if (rank < leftSize) {
+                t = t.left;
+            } else if (rank > leftSize) {
+                rank -= leftSize + 1;
+                t = t.right;
+            } else {
+                return t.key;
+            }
+        }
+    }
+
+    /**
+     * Number of leading keys that satisfy {@code before}, which must hold for a prefix of the
+     * order and fail for the rest (e.g. "sorts below some bound"). One O(log n) descent.
+     */
+    int countWhile(Predicate<? super K> before) {
+        int count = 0;
+        for (Node<K> t = root; t != null; ) {
+            if (before.test(t.key)) {
+                count += size(t.left) + 1;
+                t = t.right;
+            } else {
+                t = t.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Visit {@code count} keys in order starting at zero-based position {@code from},
+     * in O(log n + count).
+     */
+    void range(int from, int count, Consumer<? super K> visitor) {
+        Deque<Node<K>> stack = new ArrayDeque<>();
+        Node<K> t = root;
+        int skip = from;
+        while (t != null) {
+            int leftSize = size(t.left);
+            if (skip < leftSize) {
+                stack.push(t); // visited after its left subtree
+                t = t.left;
+            } else if (skip > leftSize) {
+                skip -= leftSize + 1;
+                t = t.right;
+            } else {
+                stack.push(t);
+                break;
+            }
+        }
+        for (int n = 0; n < count && !stack.isEmpty(); n++) {
+            t = stack.pop();
+            visitor.accept(t.key);
+            for (t = t.right; t != null; t = t.left) stack.push(t);
+        }
+    }
+
+    /* ---------------------
+       Treap internals
+       --------------------- */
+
+    private static int size(Node<?> t) { return t == null ? 0 : t.size; }
+
+    private static void update(Node<?> t) { t.size = size(t.left) + size(t.right) + 1; }
+
+    private Node<K> insert(Node<K> t, Node<K> n) {
+        if (t == null) return n;
+        if (order.compare(n.key, t.key) < 0) {
+            t.left = insert(t.left, n);
+            if (t.left.priority > t.priority) t = rotateRight(t);
+        } else {
+            t.right = insert(t.right, n);
+            if (t.right.priority > t.priority) t = rotateLeft(t);
+        }
+        update(t);
+        return t;
+    }
+
+    private Node<K> remove(Node<K> t, K key) {
+        if (t == null) return null;
+        int c = order.compare(key, t.key);
+        if (c < 0) t.left = remove(t.left, key);
+        else if (c > 0) t.right = remove(t.right, key);
+        else return merge(t.left, t.right);
+        update(t);
+        return t;
+    }
+
+    private static <K> Node<K> merge(Node<K> a, Node<K> b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static <K> Node<K> rotateRight(Node<K> t) {
+        Node<K> l = t.left;
+        t.left = l.right;
+        l.right = t;
+        update(t);
+        update(l);
+        return l;
+    }
+
+    private static <K> Node<K> rotateLeft(Node<K> t) {
+        Node<K> r = t.right;
+        t.right = r.left;
+        r.left = t;
+        update(t);
+        update(r);
+        return r;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Custom JDK Flight Recorder events. They are recorded when the JVM runs a recording, e.g.
+ * {@code -XX:StartFlightRecording:filename=ttt.jfr}, and show up under "Tic-Tac-Toe" in
+ * JDK Mission Control. With no recording running, begin/commit are no-ops the JIT removes.
+ * Callers begin an event where the operation starts; {@link PerfMetrics} fills it in and commits
+ * it along with the in-app numbers.
+ */
+public final class PerfEvents {
+
+    private PerfEvents() { }
+
+    @Name("org.example.Move")
+    @Label("Move")
+    @Description("Handling of one move on the event dispatch thread, up to any end-of-round dialog")
+    @Category("Tic-Tac-Toe")
+    @StackTrace(false)
+    public static final class Move extends Event {
+        @Label("Row") int row;
+        @Label("Column") int col;
+        @Label("Result") String result;
+    }
+
+    @Name("org.example.WinCheck")
+    @Label("Win Check")
+    @Description("Placing a mark and scanning its lines for a win")
+    @Category("Tic-Tac-Toe")
+    @StackTrace(false)
+    public static final class WinCheck extends Event {
+        @Label("Board Size") int size;
+        @Label("Move Count") int moveCount;
+        @Label("Winner") boolean winner;
+    }
+
+    @Name("org.example.ScoreboardSave")
+    @Label("Scoreboard Save")
+    @Category({"Tic-Tac-Toe", "Scoreboard"})
+    @StackTrace(false)
+    public static final class ScoreboardSave extends Event {
+        @Label("File") String file;
+        @Label("Mode") String mode;
+        @Label("Players") int players;
+        @Label("File Size") @DataAmount long fileBytes;
+    }
+
+    @Name("org.example.ScoreboardLoad")
+    @Label("Scoreboard Load")
+    @Category({"Tic-Tac-Toe", "Scoreboard"})
+    @StackTrace(false)
+    public static final class ScoreboardLoad extends Event {
+        @Label("File") String file;
+        @Label("Players") int players;
+        @Label("Rejected Lines") long rejected;
+        @Label("File Size") @DataAmount long fileBytes;
+    }
+
+    @Name("org.example.DialogOpen")
+    @Label("Dialog Open")
+    @Description("From the menu action until the dialog window is open")
+    @Category("Tic-Tac-Toe")
+    @StackTrace(false)
+    public static final class DialogOpen extends Event {
+        @Label("Dialog") String dialog;
+    }
+}
@@ -0,0 +1,189 @@
+package org.example;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-app performance numbers: latency histograms and counters for moves, win checks,
+ * scoreboard saves and loads and dialog opens, shown under Options and dumpable to a file.
+ * Each measured operation also commits the matching {@link PerfEvents} JFR event.
+ * Recording costs two {@code System.nanoTime()} calls and a few uncontended atomic adds,
+ * and is only done per user action or file operation, never in the board's search loops.
+ * Responsibilities:
+ *  - fixed-memory log-linear latency histograms (p50/p90/p99/max)
+ *  - byte and player counters, scoreboard file size
+ *  - plain-text report and dump
+ */
+public final class PerfMetrics {
+
+    private PerfMetrics() { }
+
+    /**
+     * Latency histogram with 8 buckets per power of two (within 12.5%), safe for concurrent use.
+     */
+    public static final class Histogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB = 1 << SUB_BITS;
+
+        private final String name;
+        private final AtomicLongArray buckets = new AtomicLongArray((64 - SUB_BITS) * SUB + SUB);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        Histogram(String name) { this.name = name; }
+
+        public void record(long nanos) {
+            long v = Math.max(0, nanos);
+            buckets.incrementAndGet(bucketOf(v));
+            count.increment();
+            total.add(v);
+            max.accumulateAndGet(v, Math::max);
+        }
+
+        public long count() { return count.sum(); }
+
+        /** Approximate value at quantile {@code q} (0..1), in nanoseconds; 0 when empty. */
+        public long percentile(double q) {
+            long n = count();
+            if (n == 0) return 0;
+            long target = Math.max(1, (long) Math.ceil(q * n)), seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target) return Math.min(upperBound(i), max.get());
+            }
+            return max.get();
+        }
+
+        public long max() { return max.get(); }
+
+        public double mean() {
+            long n = count();
+            return n == 0 ? 0 : (double) total.sum() / n;
+        }
+
+        void reset() {
+            for (int i = 0; i < buckets.length(); i++) buckets.set(i, 0);
+            count.reset();
+            total.reset();
+            max.set(0);
+        }
+
+        private static int bucketOf(long v) {
+            if (v < SUB) return (int) v;
+            int exp = 63 - Long.numberOfLeadingZeros(v);            // >= SUB_BITS
+            int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+            return (exp - SUB_BITS + 1) * SUB + sub;
+        }
+
+        private static long upperBound(int bucket) {
+            if (bucket < SUB) return bucket;
+            int exp = bucket / SUB + SUB_BITS - 1, sub = bucket % SUB;
+            return ((long) (SUB + sub + 1) << (exp - SUB_BITS)) - 1;
+        }
+    }
+
+    public static final Histogram MOVE = new Histogram("move (EDT)");
+    public static final Histogram WIN_CHECK = new Histogram("win check");
+    public static final Histogram SAVE = new Histogram("scoreboard save");
+    public static final Histogram LOAD = new Histogram("scoreboard load");
+    public static final Histogram DIALOG_OPEN = new Histogram("dialog open");
+    private static final Histogram[] HISTOGRAMS = {MOVE, WIN_CHECK, SAVE, LOAD, DIALOG_OPEN};
+
+    public static final LongAdder BYTES_WRITTEN = new LongAdder();   // snapshots and journal appends
+    public static final LongAdder PLAYERS_LOADED = new LongAdder();
+    private static final AtomicLong scoreboardFileBytes = new AtomicLong();
+
+    /* ---------------------
+       Recording (histogram + JFR event)
+       --------------------- */
+
+    static void moved(PerfEvents.Move event, long startNanos, int row, int col, String result) {
+        MOVE.record(System.nanoTime() - startNanos);
+        event.row = row;
+        event.col = col;
+        event.result = result;
+        event.commit();
+    }
+
+    static void winChecked(PerfEvents.WinCheck event, long startNanos, Board board) {
+        WIN_CHECK.record(System.nanoTime() - startNanos);
+        event.size = board.getSize();
+        event.moveCount = board.getMoveCount();
+        event.winner = board.hasWinner();
+        event.commit();
+    }
+
+    static void saved(PerfEvents.ScoreboardSave event, long startNanos, File file, String mode, int players) {
+        SAVE.record(System.nanoTime() - startNanos);
+        scoreboardFileBytes.set(file.length());
+        event.file = file.getPath();
+        event.mode = mode;
+        event.players = players;
+        event.fileBytes = file.length();
+        event.commit();
+    }
+
+    static void loaded(PerfEvents.ScoreboardLoad event, long startNanos, File file, int players, long rejected) {
+        LOAD.record(System.nanoTime() - startNanos);
+        PLAYERS_LOADED.add(players);
+        scoreboardFileBytes.set(file.length());
+        event.file = file.getPath();
+        event.players = players;
+        event.rejected = rejected;
+        event.fileBytes = file.length();
+        event.commit();
+    }
+
+    static void dialogOpened(PerfEvents.DialogOpen event, long startNanos, String dialog) {
+        DIALOG_OPEN.record(System.nanoTime() - startNanos);
+        event.dialog = dialog;
+        event.commit();
+    }
+
+    /* ---------------------
+       Report
+       --------------------- */
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-18s %8s %10s %10s %10s %10s %10s%n", "latency", "count", "mean", "p50", "p90", "p99", "max"));
+        for (Histogram h : HISTOGRAMS) {
+            sb.append(String.format("%-18s %,8d %10s %10s %10s %10s %10s%n", h.name, h.count(), time(h.mean()),
+                    time(h.percentile(0.50)), time(h.percentile(0.90)), time(h.percentile(0.99)), time(h.max())));
+        }
+        sb.append(String.format("%nbytes written       %,d%n", BYTES_WRITTEN.sum()));
+        sb.append(String.format("players loaded     %,d%n", PLAYERS_LOADED.sum()));
+        sb.append(String.format("scoreboard file    %,d bytes%n", scoreboardFileBytes.get()));
+        return sb.toString();
+    }
+
+    /**
+     * Write {@link #report()} to a file.
+     */
+    public static void dump(File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.printf("Tic-Tac-Toe performance metrics, %tF %<tT%n%n", System.currentTimeMillis());
+            out.print(report());
+            if (out.checkError()) throw new IOException("write failed: " + file);
+        }
+    }
+
+    public static void reset() {
+        for (Histogram h : HISTOGRAMS) h.reset();
+        BYTES_WRITTEN.reset();
+        PLAYERS_LOADED.reset();
+    }
+
+    private static String time(double nanos) {
+        if (nanos < 1e3) return String.format("%.0f ns", nanos);
+        if (nanos < 1e6) return String.format("%.1f us", nanos / 1e3);
+        if (nanos < 1e9) return String.format("%.1f ms", nanos / 1e6);
+        return String.format("%.2f s", nanos / 1e9);
+    }
+}
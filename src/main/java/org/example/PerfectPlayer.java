@@ -0,0 +1,32 @@
+package org.example;
+
+/**
+ * Computer opponent for classic 3x3 Tic-Tac-Toe that never loses.
+ * Moves come straight from the precomputed {@link SolvedTable}.
+ */
+public class PerfectPlayer implements ComputerPlayer {
+
+    private final SolvedTable table = SolvedTable.get();
+
+    /**
+     * True if the board is the classic 3x3, three-in-a-row game this player is solved for.
+     */
+    public static boolean supports(Board board) {
+        return board.getSize() == BitBoard.SIZE && board.getWinLength() == BitBoard.SIZE;
+    }
+
+    @Override
+    public int chooseMove(Board board) {
+        if (!supports(board))
+            throw new IllegalArgumentException("PerfectPlayer only plays 3x3 boards");
+        if (board.hasWinner() || board.isFull()) return -1;
+
+        int x = 0, o = 0;
+        for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+            byte mark = board.markAt(cell);
+            if (mark == Board.X) x |= 1 << cell;
+            else if (mark == Board.O) o |= 1 << cell;
+        }
+        return table.bestMove(x, o);
+    }
+}
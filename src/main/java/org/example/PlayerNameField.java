@@ -0,0 +1,100 @@
+package org.example;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * Text field that suggests known player names as you type.
+ * Suggestions are the first names starting with the typed text (ignoring case), read from the
+ * scoreboard's name index on every keystroke, so they stay instant with millions of players.
+ * Up/Down pick a suggestion, Enter or a click takes it, Escape closes the list; while the list is
+ * closed those keys keep their usual meaning (e.g. Enter still presses the dialog's OK button).
+ */
+public class PlayerNameField extends JTextField {
+
+    private static final int SUGGESTIONS = 8;
+
+    private final Scoreboard scoreboard;
+    private final DefaultListModel<String> suggestions = new DefaultListModel<>();
+    private final JList<String> list = new JList<>(suggestions);
+    private final JPopupMenu popup = new JPopupMenu();
+    private boolean accepting; // setText from a suggestion must not reopen the list
+
+    public PlayerNameField(Scoreboard scoreboard, String text) {
+        super(text, 20);
+        this.scoreboard = scoreboard;
+
+        list.setFocusable(false);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.addMouseListener(new MouseAdapter() {
+            @Override public void mouseClicked(MouseEvent e) { accept(); }
+        });
+        popup.setFocusable(false);
+        popup.add(list);
+
+        getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { suggestLater(); }
+            @Override public void removeUpdate(DocumentEvent e) { suggestLater(); }
+            @Override public void changedUpdate(DocumentEvent e) { suggestLater(); }
+        });
+
+        bind("DOWN", "suggestion-next", () -> move(1));
+        bind("UP", "suggestion-previous", () -> move(-1));
+        bind("ENTER", "suggestion-accept", this::accept);
+        bind("ESCAPE", "suggestion-close", () -> popup.setVisible(false));
+    }
+
+    /**
+     * Bind a key that only acts (and is only consumed) while suggestions are showing.
+     */
+    private void bind(String key, String name, Runnable action) {
+        getInputMap().put(KeyStroke.getKeyStroke(key), name);
+        getActionMap().put(name, new AbstractAction() {
+            @Override public void actionPerformed(ActionEvent e) { action.run(); }
+
+            @Override public boolean isEnabled() { return popup.isVisible(); }
+        });
+    }
+
+    private void suggestLater() {
+        if (!accepting) SwingUtilities.invokeLater(this::suggest); // not while the document is notifying
+    }
+
+    private void suggest() {
+        String text = getText().trim();
+        if (text.isEmpty() || !isShowing()) {
+            popup.setVisible(false);
+            return;
+        }
+        List<String> names = scoreboard.getPlayersWithPrefix(text, 0, SUGGESTIONS);
+        if (names.isEmpty() || (names.size() == 1 && names.get(0).equals(text))) {
+            popup.setVisible(false);
+            return;
+        }
+        suggestions.clear();
+        suggestions.addAll(names);
+        list.setVisibleRowCount(names.size());
+        list.setSelectedIndex(0);
+        popup.pack();
+        popup.show(this, 0, getHeight());
+    }
+
+    private void move(int delta) {
+        int i = list.getSelectedIndex() + delta;
+        if (i >= 0 && i < suggestions.size()) list.setSelectedIndex(i);
+    }
+
+    private void accept() {
+        String name = list.getSelectedValue();
+        popup.setVisible(false);
+        if (name == null) return;
+        accepting = true;
+        setText(name);
+        accepting = false;
+    }
+}
@@ -0,0 +1,146 @@
+package org.example;
+
+/**
+ * Compact player-name -> (wins, losses) store.
+ * One open-addressing table (linear probing) with parallel arrays: the name, its cached
+ * hash and both counters packed into a single long (wins in the high 32 bits, losses in
+ * the low 32 bits). No per-entry objects and no boxing, so an update is one probe
+ * sequence and one array write.
+ * Not thread-safe; {@link Scoreboard} owns and guards it.
+ */
+final class PlayerRecords {
+
+    /** Returned by {@link #get(String)} for unknown players; packed records are never negative. */
+    static final long ABSENT = -1L;
+
+    /**
+     * Receives one record during {@link #forEach(Visitor)}.
+     */
+    interface Visitor {
+        void visit(String name, int wins, int losses);
+    }
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private String[] keys;
+    private int[] hashes;
+    private long[] values;
+    private int size;
+    private int threshold;
+
+    PlayerRecords() { allocate(MIN_CAPACITY); }
+
+    /* ---------------------
+       Packing
+       --------------------- */
+
+    static long pack(int wins, int losses) { return ((long) wins << 32) | (losses & 0xFFFFFFFFL); }
+
+    static int winsOf(long record) { return (int) (record >>> 32); }
+
+    static int lossesOf(long record) { return (int) record; }
+
+    /* ---------------------
+       Map operations
+       --------------------- */
+
+    int size() { return size; }
+
+    long get(String name) {
+        int h = hash(name);
+        int mask = keys.length - 1;
+        for (int i = h & mask; keys[i] != null; i = (i + 1) & mask)
+            if (hashes[i] == h && keys[i].equals(name)) return values[i];
+        return ABSENT;
+    }
+
+    boolean contains(String name) { return get(name) != ABSENT; }
+
+    void put(String name, long record) {
+        int h = hash(name);
+        int mask = keys.length - 1;
+        int i = h & mask;
+        for (; keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == h && keys[i].equals(name)) {
+                values[i] = record;
+                return;
+            }
+        }
+        keys[i] = name;
+        hashes[i] = h;
+        values[i] = record;
+        if (++size > threshold) allocateAndRehash(keys.length * 2);
+    }
+
+    /**
+     * Remove a name; returns its packed record or {@link #ABSENT}.
+     * Uses backward-shift deletion so lookups never need tombstones.
+     */
+    long remove(String name) {
+        int h = hash(name);
+        int mask = keys.length - 1;
+        int i = h & mask;
+        while (keys[i] != null && !(hashes[i] == h && keys[i].equals(name))) i = (i + 1) & mask;
+        if (keys[i] == null) return ABSENT;
+
+        long old = values[i];
+        size--;
+        // shift later entries of the probe run back into the hole
+        int hole = i;
+        for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = hashes[j] & mask;
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                keys[hole] = keys[j];
+                hashes[hole] = hashes[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = null;
+        return old;
+    }
+
+    void clear() { allocate(MIN_CAPACITY); }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != null) visitor.visit(keys[i], winsOf(values[i]), lossesOf(values[i]));
+    }
+
+    /* ---------------------
+       Table management
+       --------------------- */
+
+    private static int hash(String name) {
+        int h = name.hashCode() * 0x9E3779B9; // spread String hashes over the high bits
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        values = new long[capacity];
+        size = 0;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void allocateAndRehash(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        long[] oldValues = values;
+        int count = size;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null) continue;
+            int i = oldHashes[j] & mask;
+            while (keys[i] != null) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            hashes[i] = oldHashes[j];
+            values[i] = oldValues[j];
+        }
+        size = count;
+    }
+}
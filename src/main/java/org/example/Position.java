@@ -0,0 +1,187 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Immutable game position: the marks packed into bit masks (one bit per cell for X and one for O)
+ * plus a link to the position before the last move.
+ * {@link #play(int)} returns a new position and never changes this one, so search and analysis
+ * code can branch from any position, and keep it, without copying a {@link Board}.
+ * Cost per move is constant in the length of the game: one small object and
+ * {@code 2 * ceil(cells / 64)} longs (two longs for boards up to 8x8).
+ * Responsibilities:
+ *  - answer the same queries as {@link Board} (marks, side to move, winner) from the masks
+ *  - keep the line of play: {@link #parent()} is undo, {@link #moves()} the move list
+ *  - compare and hash by marks only, for use as transposition keys
+ */
+public final class Position {
+
+    /** Row/column steps for horizontal, vertical and the two diagonal directions. */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int size;
+    private final int winLength;
+    private final long[] bits;       // X masks in [0, words), O masks in [words, 2 * words)
+    private final Position parent;   // null at the start of the game
+    private final int lastMove;      // cell played to reach this position, -1 at the start
+    private final int moveCount;
+    private final byte winner;
+
+    private Position(int size, int winLength, long[] bits, Position parent, int lastMove, int moveCount, byte winner) {
+        this.size = size;
+        this.winLength = winLength;
+        this.bits = bits;
+        this.parent = parent;
+        this.lastMove = lastMove;
+        this.moveCount = moveCount;
+        this.winner = winner;
+    }
+
+    /**
+     * Empty N x N board where K marks in a row win.
+     */
+    public static Position start(int size, int winLength) {
+        if (size < 1) throw new IllegalArgumentException("Board size must be positive: " + size);
+        if (winLength < 1 || winLength > size)
+            throw new IllegalArgumentException("Win length must be between 1 and " + size + ": " + winLength);
+        int words = (size * size + 63) >>> 6;
+        return new Position(size, winLength, new long[2 * words], null, -1, 0, Board.EMPTY);
+    }
+
+    /* ---------------------
+       Moves
+       --------------------- */
+
+    /**
+     * Position after the side to move marks {@code cell}; this position is unchanged.
+     */
+    public Position play(int cell) {
+        if (cell < 0 || cell >= size * size) throw new IllegalArgumentException("No such cell: " + cell);
+        if (!isEmpty(cell)) throw new IllegalArgumentException("Cell is occupied: " + cell);
+        if (winner != Board.EMPTY) throw new IllegalStateException("Game is over");
+
+        byte mark = toMove();
+        long[] next = bits.clone();
+        int offset = mark == Board.X ? 0 : bits.length >>> 1;
+        next[offset + (cell >>> 6)] |= 1L << cell;
+        byte won = wins(next, offset, cell) ? mark : Board.EMPTY;
+        return new Position(size, winLength, next, this, cell, moveCount + 1, won);
+    }
+
+    /**
+     * Position before the last move (undo), or null at the start of the game.
+     */
+    public Position parent() { return parent; }
+
+    /**
+     * Cell played to reach this position, or -1 at the start of the game.
+     */
+    public int lastMove() { return lastMove; }
+
+    /**
+     * Every move from the start of the game, in order (walks the parent links).
+     */
+    public int[] moves() {
+        int[] moves = new int[moveCount];
+        for (Position p = this; p.parent != null; p = p.parent) moves[p.moveCount - 1] = p.lastMove;
+        return moves;
+    }
+
+    /**
+     * A {@link Board} holding this position, e.g. for code that updates a board in place.
+     */
+    public Board toBoard() {
+        Board board = new Board(size, winLength);
+        int[] moves = moves();
+        for (int i = 0; i < moves.length; i++) board.place(moves[i], i % 2 == 0 ? Board.X : Board.O);
+        return board;
+    }
+
+    /* ---------------------
+       Queries
+       --------------------- */
+
+    public int getSize() { return size; }
+
+    public int getWinLength() { return winLength; }
+
+    public int getCellCount() { return size * size; }
+
+    public int getMoveCount() { return moveCount; }
+
+    public byte markAt(int cell) {
+        long bit = 1L << cell;
+        int word = cell >>> 6;
+        if ((bits[word] & bit) != 0) return Board.X;
+        if ((bits[(bits.length >>> 1) + word] & bit) != 0) return Board.O;
+        return Board.EMPTY;
+    }
+
+    public boolean isEmpty(int cell) { return markAt(cell) == Board.EMPTY; }
+
+    public boolean isFull() { return moveCount == size * size; }
+
+    /**
+     * Mark of the side to move; X always opens.
+     */
+    public byte toMove() { return (moveCount & 1) == 0 ? Board.X : Board.O; }
+
+    public boolean hasWinner() { return winner != Board.EMPTY; }
+
+    /**
+     * Mark of the winner, or {@link Board#EMPTY} if nobody has won.
+     */
+    public byte winner() { return winner; }
+
+    public boolean isOver() { return winner != Board.EMPTY || isFull(); }
+
+    /**
+     * Both masks in one long (X in the low 32 bits, O in the high 32 bits) for boards of up to
+     * 32 cells, e.g. as a table index.
+     */
+    public long packed() {
+        if (size * size > 32) throw new IllegalStateException("Only boards of up to 32 cells pack into a long");
+        return bits[0] | bits[1] << 32;
+    }
+
+    /**
+     * Same board dimensions and the same marks, regardless of move order.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Position p && size == p.size && winLength == p.winLength && Arrays.equals(bits, p.bits);
+    }
+
+    @Override
+    public int hashCode() { return 31 * Arrays.hashCode(bits) + size; }
+
+    /* ---------------------
+       Win detection
+       --------------------- */
+
+    /**
+     * Whether the mark just placed on {@code cell} completes a line, looking only along the four
+     * lines through it (as {@link Board} does).
+     */
+    private boolean wins(long[] bits, int offset, int cell) {
+        int row = cell / size, col = cell % size;
+        for (int[] d : DIRECTIONS) {
+            int count = 1 + run(bits, offset, row, col, -d[0], -d[1]) + run(bits, offset, row, col, d[0], d[1]);
+            if (count >= winLength) return true;
+        }
+        return false;
+    }
+
+    private int run(long[] bits, int offset, int row, int col, int dr, int dc) {
+        int n = 0;
+        int r = row + dr, c = col + dc;
+        while (n < winLength - 1 && r >= 0 && r < size && c >= 0 && c < size) {
+            int cell = r * size + c;
+            if ((bits[offset + (cell >>> 6)] & 1L << cell) == 0) break;
+            n++;
+            r += dr;
+            c += dc;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays a uniformly random empty cell. Baseline strategy for simulations.
+ * Not thread-safe: give each thread its own instance (and random generator).
+ */
+public class RandomPlayer implements ComputerPlayer {
+
+    private final SplittableRandom rng;
+
+    public RandomPlayer(SplittableRandom rng) { this.rng = rng; }
+
+    @Override
+    public int chooseMove(Board board) {
+        int empty = board.getCellCount() - board.getMoveCount();
+        if (board.hasWinner() || empty == 0) return -1;
+        return nthEmpty(board, rng.nextInt(empty));
+    }
+
+    /**
+     * The n-th empty cell in row-major order.
+     */
+    static int nthEmpty(Board board, int n) { return board.nthEmpty(n); }
+}
@@ -0,0 +1,100 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Leaderboard order kept up to date on every record change.
+ * Order: wins descending, then losses ascending, then name (case-insensitive, then exact).
+ * Backed by an {@link OrderStatisticTreap} of (name, wins, losses) entries, so
+ *  - insert/remove and rank-of-player are O(log n) expected
+ *  - the top k players are read in O(k + log n)
+ *  - the player at a given rank is found in O(log n)
+ * Not thread-safe; {@link Scoreboard} owns and guards it.
+ */
+final class RankedIndex {
+
+    private record Entry(String name, int wins, int losses) { }
+
+    private static final Comparator<Entry> ORDER = (a, b) -> {
+        if (a.wins != b.wins) return a.wins > b.wins ? -1 : 1;         // more wins first
+        if (a.losses != b.losses) return a.losses < b.losses ? -1 : 1; // fewer losses first
+        int c = a.name.compareToIgnoreCase(b.name);
+        return c != 0 ? c : a.name.compareTo(b.name);
+    };
+
+    private final OrderStatisticTreap<Entry> treap = new OrderStatisticTreap<>(ORDER);
+
+    /* ---------------------
+       Updates
+       --------------------- */
+
+    void insert(String name, int wins, int losses) {
+        treap.insert(new Entry(name, wins, losses));
+    }
+
+    /**
+     * Remove the entry with exactly this name and record; no-op if absent.
+     */
+    void remove(String name, int wins, int losses) {
+        treap.remove(new Entry(name, wins, losses));
+    }
+
+    void clear() { treap.clear(); }
+
+    /**
+     * Replace the contents with the given records (e.g. after a file load).
+     * Sorts once (in parallel) and builds the treap bottom-up in linear time instead of n inserts.
+     */
+    void rebuild(String[] names, int[] wins, int[] losses, int count) {
+        Entry[] entries = new Entry[count];
+        for (int i = 0; i < count; i++) entries[i] = new Entry(names[i], wins[i], losses[i]);
+        treap.rebuild(entries, count);
+    }
+
+    /* ---------------------
+       Queries
+       --------------------- */
+
+    int size() { return treap.size(); }
+
+    /**
+     * Zero-based leaderboard position of the entry, or -1 if absent.
+     */
+    int rankOf(String name, int wins, int losses) {
+        return treap.rankOf(new Entry(name, wins, losses));
+    }
+
+    /**
+     * Name at the given zero-based leaderboard position.
+     */
+    String get(int rank) {
+        return treap.get(rank).name;
+    }
+
+    /**
+     * Names of the first {@code k} players in leaderboard order.
+     */
+    List<String> top(int k) {
+        int n = Math.max(0, Math.min(k, size()));
+        List<String> out = new ArrayList<>(n);
+        treap.range(0, n, e -> out.add(e.name));
+        return out;
+    }
+
+    /**
+     * Receives entries during {@link #range(int, int, Visitor)}.
+     */
+    interface Visitor {
+        void visit(String name, int wins, int losses);
+    }
+
+    /**
+     * Visit {@code count} entries in leaderboard order starting at zero-based position
+     * {@code from}, in O(log n + count).
+     */
+    void range(int from, int count, Visitor visitor) {
+        treap.range(from, count, e -> visitor.visit(e.name, e.wins, e.losses));
+    }
+}
@@ -0,0 +1,311 @@
+package org.example;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Glicko ratings per player, stored in {@code ratings.txt} as CSV:
+ * playerName,rating,deviation,games,lastPlayedMillis.
+ * A rating comes with a deviation (RD) saying how sure it is: new players start at 1500 ± 350,
+ * each result narrows the RD, and the RD widens again while a player is inactive.
+ * Results recorded one at a time are rated in O(1) as a rating period with a single game.
+ * {@link #recompute(File, long)} rebuilds all ratings from the {@link GameLog} when
+ * the parameters change. Games are grouped into time windows (rating periods); within a window
+ * every game is scored against the ratings at the window's start, so the games are evaluated
+ * in parallel and summed per player. Windows are applied in order.
+ * Responsibilities:
+ *  - constant-time incremental updates for wins and draws
+ *  - load and save ratings (atomic save)
+ *  - parallel historical recompute from the game log
+ */
+public class Ratings {
+
+    private static final String FILE = "ratings.txt";
+
+    private static final double Q = Math.log(10) / 400;
+
+    /**
+     * Rating system parameters: start rating and deviation, how much the deviation grows per
+     * rating period of inactivity, and the period length.
+     */
+    public record Params(double initial, double initialDeviation, double deviationGrowth, long periodMillis) {
+        public static final Params DEFAULT = new Params(1500, 350, 35, 24 * 3_600_000L);
+    }
+
+    /** Mutable per-player state. */
+    private static final class Rating {
+        double value;
+        double deviation;
+        int games;
+        long lastPlayed;
+
+        Rating(double value, double deviation, int games, long lastPlayed) {
+            this.value = value;
+            this.deviation = deviation;
+            this.games = games;
+            this.lastPlayed = lastPlayed;
+        }
+    }
+
+    /** One period's results for one player: sum of g²E(1-E), sum of g(S-E), games. */
+    private static final class PeriodSums {
+        double variance, improvement;
+        int games;
+
+        void add(PeriodSums o) {
+            variance += o.variance;
+            improvement += o.improvement;
+            games += o.games;
+        }
+    }
+
+    private final File file;
+    private final Params params;
+    private final Map<String, Rating> ratings = new HashMap<>();
+
+    /**
+     * Ratings in ratings.txt with the default parameters.
+     */
+    public Ratings() {
+        this(new File(FILE), Params.DEFAULT);
+    }
+
+    public Ratings(File file, Params params) {
+        this.file = file;
+        this.params = params;
+        load();
+    }
+
+    /* ---------------------
+       Access & updates
+       --------------------- */
+
+    public synchronized double getRating(String player) {
+        Rating r = ratings.get(Scoreboard.validName(player));
+        return r == null ? params.initial() : r.value;
+    }
+
+    /**
+     * Current deviation, including the growth since the player's last game.
+     */
+    public synchronized double getDeviation(String player) {
+        Rating r = ratings.get(Scoreboard.validName(player));
+        return r == null ? params.initialDeviation() : deviationAt(r, System.currentTimeMillis());
+    }
+
+    public synchronized int getGames(String player) {
+        Rating r = ratings.get(Scoreboard.validName(player));
+        return r == null ? 0 : r.games;
+    }
+
+    public synchronized void recordWin(String winner, String loser) {
+        update(Scoreboard.validName(winner), Scoreboard.validName(loser), 1.0);
+    }
+
+    public synchronized void recordDraw(String a, String b) {
+        update(Scoreboard.validName(a), Scoreboard.validName(b), 0.5);
+    }
+
+    /**
+     * Move a rating to a new name. If the new name already has a rating it is kept.
+     */
+    public synchronized void renamePlayer(String oldName, String newName) {
+        String o = Scoreboard.validName(oldName), n = Scoreboard.validName(newName);
+        if (o.equals(n)) return;
+        Rating r = ratings.remove(o);
+        if (r != null) ratings.putIfAbsent(n, r);
+    }
+
+    /**
+     * Players sorted by rating, highest first.
+     */
+    public synchronized List<String> getTopPlayers() {
+        List<String> list = new ArrayList<>(ratings.keySet());
+        list.sort((a, b) -> Double.compare(ratings.get(b).value, ratings.get(a).value));
+        return list;
+    }
+
+    /**
+     * Rate one game as its own period: both players are scored against the other's rating
+     * before the game.
+     */
+    private void update(String a, String b, double scoreA) {
+        long now = System.currentTimeMillis();
+        Rating ra = rating(ratings, a, now), rb = rating(ratings, b, now);
+        double rdA = deviationAt(ra, now), rdB = deviationAt(rb, now);
+        PeriodSums sa = new PeriodSums(), sb = new PeriodSums();
+        score(sa, ra.value, rb.value, rdB, scoreA);
+        score(sb, rb.value, ra.value, rdA, 1 - scoreA);
+        apply(ra, rdA, sa, now);
+        apply(rb, rdB, sb, now);
+    }
+
+    /* ---------------------
+       Glicko formulas
+       --------------------- */
+
+    /** Deviation grown by the rating periods elapsed since the last game, capped at the start value. */
+    private double deviationAt(Rating r, long time) {
+        if (r.games == 0) return r.deviation;
+        double periods = Math.max(0, time - r.lastPlayed) / (double) params.periodMillis();
+        double growth = params.deviationGrowth();
+        return Math.min(Math.sqrt(r.deviation * r.deviation + growth * growth * periods), params.initialDeviation());
+    }
+
+    /** Add one game against an opponent to a player's period sums. */
+    private static void score(PeriodSums sums, double rating, double opponent, double opponentDeviation, double score) {
+        double g = 1 / Math.sqrt(1 + 3 * Q * Q * opponentDeviation * opponentDeviation / (Math.PI * Math.PI));
+        double expected = 1 / (1 + Math.pow(10, -g * (rating - opponent) / 400));
+        sums.variance += g * g * expected * (1 - expected);
+        sums.improvement += g * (score - expected);
+        sums.games++;
+    }
+
+    /** Close a rating period for one player, whose deviation at its start was {@code deviation}. */
+    private static void apply(Rating r, double deviation, PeriodSums sums, long time) {
+        double precision = 1 / (deviation * deviation) + Q * Q * sums.variance;
+        r.value += Q / precision * sums.improvement;
+        r.deviation = Math.sqrt(1 / precision);
+        r.games += sums.games;
+        r.lastPlayed = time;
+    }
+
+    private Rating rating(Map<String, Rating> state, String player, long time) {
+        return state.computeIfAbsent(player, k -> new Rating(params.initial(), params.initialDeviation(), 0, time));
+    }
+
+    /* ---------------------
+       Save / Load (IO)
+       --------------------- */
+
+    /**
+     * Atomic save: write to temp file then replace.
+     */
+    public void save() {
+        List<String> lines = new ArrayList<>();
+        synchronized (this) {
+            ratings.forEach((name, r) -> lines.add(name + "," + r.value + "," + r.deviation + ","
+                    + r.games + "," + r.lastPlayed));
+        }
+        lines.sort(String.CASE_INSENSITIVE_ORDER);
+        File temp = new File(file.getPath() + ".tmp");
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(temp)))) {
+            for (String line : lines) out.println(line);
+            if (out.checkError()) throw new IOException("write failed: " + temp);
+        } catch (IOException e) {
+            System.err.println("Failed to write ratings: " + e.getMessage());
+            e.printStackTrace();
+            temp.delete();
+            return;
+        }
+        try {
+            Scoreboard.replaceFile(temp, file);
+        } catch (IOException e) {
+            System.err.println("Failed to replace ratings file: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized void load() {
+        ratings.clear();
+        if (!file.exists()) return;
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                // the name may contain commas: the four numbers are the last fields
+                int at = line.length();
+                for (int i = 0; i < 4 && at > 0; i++) at = line.lastIndexOf(',', at - 1);
+                if (at <= 0) continue;
+                String[] parts = line.substring(at + 1).split(",");
+                try {
+                    ratings.put(line.substring(0, at).trim(), new Rating(Double.parseDouble(parts[0]),
+                            Double.parseDouble(parts[1]), Integer.parseInt(parts[2].trim()), Long.parseLong(parts[3].trim())));
+                } catch (NumberFormatException ignore) {
+                    // skip malformed lines
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read ratings: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /* ---------------------
+       Historical recompute
+       --------------------- */
+
+    /**
+     * Replace all ratings with ones rebuilt from every game in {@code log}, using
+     * {@code windowMillis}-long rating periods (games must be in time order, as the log is).
+     */
+    public void recompute(File log, long windowMillis) throws IOException {
+        Map<String, Rating> rebuilt = new HashMap<>();
+        List<GameRecord> window = new ArrayList<>();
+        long[] windowStart = {Long.MIN_VALUE};
+        GameLog.read(log, g -> {
+            if (!window.isEmpty() && g.timeMillis() >= windowStart[0] + windowMillis) {
+                ratePeriod(window, windowStart[0], rebuilt);
+                window.clear();
+            }
+            if (window.isEmpty()) windowStart[0] = g.timeMillis();
+            window.add(g);
+        });
+        if (!window.isEmpty()) ratePeriod(window, windowStart[0], rebuilt);
+        synchronized (this) {
+            ratings.clear();
+            ratings.putAll(rebuilt);
+        }
+    }
+
+    /**
+     * Score one period's games in parallel against the ratings at its start, then close the
+     * period for every player in it.
+     */
+    private void ratePeriod(List<GameRecord> games, long start, Map<String, Rating> state) {
+        for (GameRecord g : games) {
+            rating(state, g.playerX(), start);
+            rating(state, g.playerO(), start);
+        }
+        Map<String, Double> deviations = new HashMap<>();
+        for (GameRecord g : games) {
+            deviations.computeIfAbsent(g.playerX(), p -> deviationAt(state.get(p), start));
+            deviations.computeIfAbsent(g.playerO(), p -> deviationAt(state.get(p), start));
+        }
+
+        // state and deviations are only read from here until the sums are applied
+        Map<String, PeriodSums> sums = games.parallelStream().collect(HashMap::new, (acc, g) -> {
+            double x = state.get(g.playerX()).value, o = state.get(g.playerO()).value;
+            double scoreX = g.result() == GameRecord.X_WINS ? 1.0 : g.result() == GameRecord.O_WINS ? 0.0 : 0.5;
+            score(acc.computeIfAbsent(g.playerX(), k -> new PeriodSums()), x, o, deviations.get(g.playerO()), scoreX);
+            score(acc.computeIfAbsent(g.playerO(), k -> new PeriodSums()), o, x, deviations.get(g.playerX()), 1 - scoreX);
+        }, (a, b) -> b.forEach((name, s) -> a.merge(name, s, (s1, s2) -> { s1.add(s2); return s1; })));
+
+        long end = games.get(games.size() - 1).timeMillis();
+        sums.forEach((name, s) -> apply(state.get(name), deviations.get(name), s, end));
+    }
+
+    /**
+     * Usage: Ratings [game log] [rating period hours] [deviation growth per period]
+     * Rebuilds ratings.txt from the game log and prints the top 20.
+     */
+    public static void main(String[] args) throws IOException {
+        File log = new File(args.length > 0 ? args[0] : GameLog.FILE);
+        double hours = args.length > 1 ? Double.parseDouble(args[1]) : 24;
+        double growth = args.length > 2 ? Double.parseDouble(args[2]) : Params.DEFAULT.deviationGrowth();
+
+        long period = Math.max(1, (long) (hours * 3_600_000));
+        Ratings r = new Ratings(new File(FILE),
+                new Params(Params.DEFAULT.initial(), Params.DEFAULT.initialDeviation(), growth, period));
+        long start = System.nanoTime();
+        r.recompute(log, period);
+        System.out.printf("Recomputed %d ratings from %s in %.2f s (%.1f h periods, deviation growth %.0f)%n",
+                r.ratings.size(), log, (System.nanoTime() - start) / 1e9, hours, growth);
+        List<String> top = r.getTopPlayers();
+        for (String p : top.subList(0, Math.min(20, top.size())))
+            System.out.printf("%-24s %7.1f +/- %5.1f  (%d games)%n", p, r.getRating(p), r.getDeviation(p), r.getGames(p));
+        r.save();
+    }
+}
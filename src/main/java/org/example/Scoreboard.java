@@ -7,91 +7,183 @@ import java.util.*;
 
 /**
  * Manages persistent win/loss records for players.
- * Format (CSV): playerName,wins,losses
+ * Format (CSV): playerName,wins,losses (legacy "playerName W:wins L:losses" is read and migrated)
  * Responsibilities:
  *  - load and save scoreboard (atomic save)
  *  - basic record operations
  *  - rename/remove utilities for safe migration of names
+ *  - ranked leaderboard index kept in sync with every update
+ *  - case-insensitive name index for prefix search (autocomplete)
+ *  - optional journaled mode: save() appends small change records instead of
+ *    rewriting the file, and a background compaction folds them into a new snapshot
+ * Reads and updates all lock the scoreboard (the indexes are not thread-safe on their own), so
+ * one instance can be shared between threads; {@link ConcurrentScoreboard} avoids the lock.
  */
 public class Scoreboard {
 
-    private static final String FILE = "scoreboard.txt";
-    private final Map<String, Integer> wins = new HashMap<>();
-    private final Map<String, Integer> losses = new HashMap<>();
+    static final String FILE = "scoreboard.txt";
+    private static final long COMPACT_BYTES = 4L << 20; // journal size that triggers compaction
 
+    private final File file;
+    private final boolean journaled;
+    private final ScoreboardJournal journal;
+    private final PlayerRecords records = new PlayerRecords(); // wins and losses packed per player
+    private final RankedIndex ranking = new RankedIndex();
+    private final NameIndex names = new NameIndex();
+    private final Object saveLock = new Object();                 // one save at a time, in order
+    private volatile LoadReport lastLoadReport;
+
+    /**
+     * Scoreboard in scoreboard.txt; journaled if the system property scoreboard.journal is true.
+     */
     public Scoreboard() {
-        load();
+        this(new File(FILE), Boolean.getBoolean("scoreboard.journal"));
+    }
+
+    /**
+     * Scoreboard stored in a custom file (benchmarks, tests, alternate profiles).
+     */
+    public Scoreboard(File file) {
+        this(file, false);
     }
 
+    /**
+     * @param journaled if true, save() appends changes to {@code <file>.journal} and the
+     *                  snapshot is rewritten in the background once the journal grows
+     */
+    public Scoreboard(File file, boolean journaled) {
+        this(file, journaled, true);
+    }
+
+    /**
+     * For subclasses that keep the records elsewhere and load them themselves.
+     */
+    Scoreboard(File file, boolean journaled, boolean loadNow) {
+        this.file = file;
+        this.journaled = journaled;
+        this.journal = new ScoreboardJournal(file, COMPACT_BYTES);
+        if (loadNow) loadRecords();
+    }
+
+    File file() { return file; }
+
     /* ---------------------
        Basic access & updates
        --------------------- */
 
-    public int getWins(String player) {
-        return wins.getOrDefault(validName(player), 0);
+    public synchronized int getWins(String player) {
+        long r = records.get(validName(player));
+        return r == PlayerRecords.ABSENT ? 0 : PlayerRecords.winsOf(r);
+    }
+
+    public synchronized int getLosses(String player) {
+        long r = records.get(validName(player));
+        return r == PlayerRecords.ABSENT ? 0 : PlayerRecords.lossesOf(r);
     }
 
-    public int getLosses(String player) {
-        return losses.getOrDefault(validName(player), 0);
+    public synchronized void addWin(String player) {
+        String p = validName(player);
+        applyWin(p);
+        if (journaled) journal.logWin(p);
     }
 
-    public void addWin(String player) {
+    public synchronized void addLoss(String player) {
         String p = validName(player);
-        wins.put(p, getWins(p) + 1);
+        applyLoss(p);
+        if (journaled) journal.logLoss(p);
     }
 
-    public void addLoss(String player) {
+    /**
+     * Add several results for one player at once, e.g. a batch of games played offline:
+     * one index update (and one journal line) instead of one per game.
+     */
+    public synchronized void addResults(String player, int winCount, int lossCount) {
         String p = validName(player);
-        losses.put(p, getLosses(p) + 1);
+        applyAdd(p, Math.max(0, winCount), Math.max(0, lossCount));
+        if (journaled) journal.logSet(p, getWins(p), getLosses(p));
     }
 
     /**
      * Set record explicitly (overwrites).
      */
-    public void setRecord(String player, int winCount, int lossCount) {
+    public synchronized void setRecord(String player, int winCount, int lossCount) {
         String p = validName(player);
-        wins.put(p, Math.max(0, winCount));
-        losses.put(p, Math.max(0, lossCount));
+        int w = Math.max(0, winCount), l = Math.max(0, lossCount);
+        applySet(p, w, l);
+        if (journaled) journal.logSet(p, w, l);
     }
 
     /**
      * Remove a player from the scoreboard entirely.
      */
-    public void removePlayer(String player) {
+    public synchronized void removePlayer(String player) {
         String p = validName(player);
-        wins.remove(p);
-        losses.remove(p);
+        applyRemove(p);
+        if (journaled) journal.logRemove(p);
     }
 
     /**
      * Rename a player (migrate stats). If the target name already exists,
      * the stats are merged by summing wins/losses.
      */
-    public void renamePlayer(String oldName, String newName) {
+    public synchronized void renamePlayer(String oldName, String newName) {
         String o = validName(oldName);
         String n = validName(newName);
         if (o.equals(n)) return;
+        applyRename(o, n);
+        if (journaled) journal.logRename(o, n);
+    }
+
+    /* ---------------------
+       Record changes (shared by the public API and journal replay)
+       --------------------- */
+
+    void applyWin(String p) {
+        long r = records.get(p);
+        if (r == PlayerRecords.ABSENT) store(p, 1, 0);
+        else store(p, PlayerRecords.winsOf(r) + 1, PlayerRecords.lossesOf(r));
+    }
+
+    void applyLoss(String p) {
+        long r = records.get(p);
+        if (r == PlayerRecords.ABSENT) store(p, 0, 1);
+        else store(p, PlayerRecords.winsOf(r), PlayerRecords.lossesOf(r) + 1);
+    }
 
+    void applyAdd(String p, int w, int l) {
+        long r = records.get(p);
+        if (r == PlayerRecords.ABSENT) store(p, w, l);
+        else store(p, PlayerRecords.winsOf(r) + w, PlayerRecords.lossesOf(r) + l);
+    }
+
+    void applySet(String p, int w, int l) {
+        store(p, w, l);
+    }
+
+    void applyRemove(String p) {
+        long r = records.remove(p);
+        if (r != PlayerRecords.ABSENT) {
+            ranking.remove(p, PlayerRecords.winsOf(r), PlayerRecords.lossesOf(r));
+            names.remove(p);
+        }
+    }
+
+    void applyRename(String o, String n) {
         int oWins = getWins(o);
         int oLosses = getLosses(o);
 
         if (oWins == 0 && oLosses == 0) {
             // nothing to migrate; just ensure new exists
-            if (!wins.containsKey(n) && !losses.containsKey(n)) {
-                wins.put(n, 0);
-                losses.put(n, 0);
-            }
-            removePlayer(o);
+            if (!records.contains(n)) store(n, 0, 0);
+            applyRemove(o);
             return;
         }
 
         // merge into new
-        int newWins = getWins(n) + oWins;
-        int newLosses = getLosses(n) + oLosses;
-        setRecord(n, newWins, newLosses);
+        applySet(n, getWins(n) + oWins, getLosses(n) + oLosses);
 
         // remove old entry
-        removePlayer(o);
+        applyRemove(o);
     }
 
     /* ---------------------
@@ -100,111 +192,361 @@ public class Scoreboard {
 
     /**
      * Atomic save: write to temp file then replace.
+     * In journaled mode only the changes since the last save are appended and forced to disk.
+     * Safe to call from a background thread: records are copied under the scoreboard lock
+     * and written without holding it, so updates are never blocked by disk I/O.
+     * Failures are logged; the return value tells callers whether this state reached the disk.
+     *
+     * @return true if the save succeeded
      */
-    public synchronized void save() {
-        File target = new File(FILE);
-        File temp = new File(FILE + ".tmp");
+    public boolean save() {
+        long start = System.nanoTime();
+        PerfEvents.ScoreboardSave event = new PerfEvents.ScoreboardSave();
+        event.begin();
+        synchronized (saveLock) {
+            if (journaled) {
+                boolean ok = saveJournal();
+                PerfMetrics.saved(event, start, file, "journal", getPlayerCount());
+                return ok;
+            }
 
-        try (PrintWriter out = new PrintWriter(new FileWriter(temp))) {
-            // write players sorted alphabetically for determinism
-            for (String player : getSortedPlayers()) {
-                out.printf("%s,%d,%d%n", player, getWins(player), getLosses(player));
+            Snapshot snapshot;
+            synchronized (this) {
+                snapshot = copyRecords();
             }
+
+            File target = file;
+            File temp = new File(file.getPath() + ".tmp");
+            try {
+                writeSnapshot(temp, snapshot, -1);
+            } catch (IOException e) {
+                System.err.println("Failed to write scoreboard: " + e.getMessage());
+                e.printStackTrace();
+                // delete temp if exists (best-effort cleanup)
+                if (temp.exists()) temp.delete();
+                return false;
+            }
+
+            try {
+                synchronized (journal) {
+                    replaceFile(temp, target);
+                    // the full snapshot supersedes any journal left by a journaled session
+                    journal.discard();
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to replace scoreboard file: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+            PerfMetrics.saved(event, start, target, "snapshot", snapshot.names().length);
+            return true;
+        }
+    }
+
+    /**
+     * Flush the journal and start a compaction if it has grown. A failed compaction leaves
+     * the journal in place, so only the flush decides success.
+     */
+    private boolean saveJournal() {
+        try {
+            journal.flush();
+            if (!journal.shouldCompact()) return true;
+
+            // records, sequence number and covered journal length must match, so take them together;
+            // the records they cover are written after the lock is released
+            long seq;
+            long covered;
+            Snapshot snapshot;
+            synchronized (this) {
+                seq = journal.lastSeq();
+                covered = journal.mark();
+                snapshot = copyRecords();
+            }
+            journal.flush();
+            File temp = new File(file.getPath() + ".compact.tmp");
+            journal.compactInBackground(() -> {
+                writeSnapshot(temp, snapshot, seq);
+                return temp;
+            }, file, covered);
+            return true;
         } catch (IOException e) {
-            System.err.println("Failed to write scoreboard: " + e.getMessage());
+            System.err.println("Failed to write scoreboard journal: " + e.getMessage());
             e.printStackTrace();
-            // delete temp if exists (best-effort cleanup)
-            if (temp.exists()) temp.delete();
-            return;
+            return false;
+        }
+    }
+
+    /** Point-in-time copy of the records, taken under the scoreboard lock. */
+    record Snapshot(String[] names, long[] packed) { }
+
+    Snapshot copyRecords() {
+        int n = records.size();
+        String[] names = new String[n];
+        long[] packed = new long[n];
+        int[] i = {0};
+        records.forEach((name, w, l) -> {
+            names[i[0]] = name;
+            packed[i[0]++] = PlayerRecords.pack(w, l);
+        });
+        return new Snapshot(names, packed);
+    }
+
+    /**
+     * Write players sorted alphabetically (for determinism) as CSV.
+     * A non-negative {@code seq} is written first as the journal sequence the snapshot covers.
+     */
+    static void writeSnapshot(File temp, Snapshot snapshot, long seq) throws IOException {
+        String[] names = snapshot.names();
+        long[] packed = snapshot.packed();
+        Integer[] order = new Integer[names.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(names[a], names[b]));
+
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(temp)))) {
+            if (seq >= 0) out.println(ScoreboardJournal.SEQ_HEADER + seq);
+            for (int i : order) {
+                out.print(names[i]);
+                out.print(',');
+                out.print(PlayerRecords.winsOf(packed[i]));
+                out.print(',');
+                out.println(PlayerRecords.lossesOf(packed[i]));
+            }
+            if (out.checkError()) throw new IOException("write failed: " + temp);
         }
+        PerfMetrics.BYTES_WRITTEN.add(temp.length());
+    }
 
-        // Replace target with temp atomically where possible
+    /**
+     * Replace target with temp atomically where possible.
+     */
+    static void replaceFile(File temp, File target) throws IOException {
         try {
             Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException ex) {
             // If atomic move not supported, fall back to non-atomic replace
+            Files.copy(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            temp.delete();
+        }
+    }
+
+    /**
+     * Load scoreboard from file; accepts the CSV and the legacy "name W:x L:y" format
+     * and skips malformed lines (see {@link #getLastLoadReport()}).
+     * A journal next to the file is replayed on top of the snapshot.
+     */
+    public synchronized void load() {
+        loadRecords();
+    }
+
+    private void loadRecords() {
+        long start = System.nanoTime();
+        PerfEvents.ScoreboardLoad event = new PerfEvents.ScoreboardLoad();
+        event.begin();
+        records.clear();
+        ranking.clear();
+        names.clear();
+
+        // hold the journal lock so a finishing compaction cannot swap files mid-read
+        synchronized (journal) {
+            long snapshotSeq = loadSnapshot();
+            rebuildRanking();
             try {
-                Files.copy(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                temp.delete();
+                journal.replay(this, snapshotSeq);
             } catch (IOException e) {
-                System.err.println("Failed to replace scoreboard file: " + e.getMessage());
+                System.err.println("Failed to read scoreboard journal: " + e.getMessage());
                 e.printStackTrace();
             }
         }
+        PerfMetrics.loaded(event, start, file, records.size(), lastLoadReport.rejected());
     }
 
     /**
-     * Load scoreboard from file; ignores malformed lines.
-     */
-    public final synchronized void load() {
-        wins.clear();
-        losses.clear();
-        File f = new File(FILE);
-        if (!f.exists()) return;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
-                // expected CSV: name,wins,losses
-                String[] parts = line.split(",", -1);
-                if (parts.length != 3) continue;
-                String name = parts[0].trim();
-                try {
-                    int w = Math.max(0, Integer.parseInt(parts[1].trim()));
-                    int l = Math.max(0, Integer.parseInt(parts[2].trim()));
-                    if (!name.isEmpty()) {
-                        wins.put(name, w);
-                        losses.put(name, l);
-                    }
-                } catch (NumberFormatException ignore) {
-                    // skip malformed numeric lines
-                }
-            }
+     * Read the snapshot into the record store. Returns the journal sequence it covers.
+     */
+    private long loadSnapshot() {
+        try {
+            ScoreboardLoader.Result result = ScoreboardLoader.load(file, records);
+            lastLoadReport = result.report();
+            if (result.report().rejected() > 0)
+                System.err.println("Scoreboard: skipped " + result.report().rejected() + " malformed lines in " + file);
+            return result.snapshotSeq();
         } catch (IOException e) {
             System.err.println("Failed to read scoreboard: " + e.getMessage());
             e.printStackTrace();
+            lastLoadReport = new LoadReport(0, 0, 0, 0);
+            return 0;
         }
     }
 
+    /**
+     * Line counts of the last snapshot load: CSV lines accepted, legacy
+     * "name W:x L:y" lines migrated, and malformed lines rejected.
+     */
+    public record LoadReport(long accepted, long migrated, long rejected, long elapsedNanos) {
+        @Override
+        public String toString() {
+            return String.format("accepted=%d, migrated=%d, rejected=%d in %.1f ms",
+                    accepted, migrated, rejected, elapsedNanos / 1e6);
+        }
+    }
+
+    public LoadReport getLastLoadReport() { return lastLoadReport; }
+
+    /**
+     * Block until a background compaction (journaled mode) has finished.
+     */
+    public void awaitCompaction() {
+        journal.awaitCompaction();
+    }
+
     /* ---------------------
        Utility helpers
        --------------------- */
 
-    private String validName(String name) {
+    static String validName(String name) {
         if (name == null) return "";
         return name.trim();
     }
 
     /**
-     * Returns players sorted alphabetically.
+     * Replace all records with a snapshot (e.g. state merged by another instance).
+     * Caller holds the scoreboard lock.
+     */
+    void replaceRecords(Snapshot snapshot) {
+        records.clear();
+        for (int i = 0; i < snapshot.names().length; i++) records.put(snapshot.names()[i], snapshot.packed()[i]);
+        rebuildRanking();
+    }
+
+    /**
+     * Rebuild the ranked and name indexes from the records in one pass (used after bulk loads).
+     */
+    private void rebuildRanking() {
+        int n = records.size();
+        String[] all = new String[n];
+        int[] w = new int[n];
+        int[] l = new int[n];
+        int[] i = {0};
+        records.forEach((name, wins, losses) -> {
+            all[i[0]] = name;
+            w[i[0]] = wins;
+            l[i[0]] = losses;
+            i[0]++;
+        });
+        ranking.rebuild(all, w, l, n);
+        names.rebuild(all, n);
+    }
+
+    /**
+     * Single write path for records: keeps the record store and both indexes in step.
+     * All hold the same name instance, so a player's name is stored once.
+     */
+    private void store(String p, int w, int l) {
+        long old = records.get(p);
+        if (old != PlayerRecords.ABSENT) ranking.remove(p, PlayerRecords.winsOf(old), PlayerRecords.lossesOf(old));
+        else names.insert(p);
+        records.put(p, PlayerRecords.pack(w, l));
+        ranking.insert(p, w, l);
+    }
+
+    /**
+     * Returns players sorted alphabetically (case-insensitive), read from the name index in O(n).
      * Useful for deterministic saves and basic displays.
      */
-    public List<String> getSortedPlayers() {
-        List<String> list = new ArrayList<>();
-        // include players present in either map
-        Set<String> keys = new HashSet<>();
-        keys.addAll(wins.keySet());
-        keys.addAll(losses.keySet());
-        list.addAll(keys);
-        Collections.sort(list, String.CASE_INSENSITIVE_ORDER);
+    public synchronized List<String> getSortedPlayers() {
+        List<String> list = new ArrayList<>(names.size());
+        names.range(0, names.size(), list::add);
         return list;
     }
 
+    /**
+     * Number of players whose name starts with {@code prefix}, ignoring case. O(log n).
+     */
+    public synchronized int countPlayersWithPrefix(String prefix) {
+        return names.prefixEnd(prefix) - names.prefixStart(prefix);
+    }
+
+    /**
+     * Up to {@code count} players whose name starts with {@code prefix} (ignoring case),
+     * skipping the first {@code from}, in {@link #getSortedPlayers()} order.
+     * O(log n + count); an empty prefix pages through all players.
+     */
+    public synchronized List<String> getPlayersWithPrefix(String prefix, int from, int count) {
+        int start = names.prefixStart(prefix) + Math.max(0, from);
+        int n = Math.min(count, names.prefixEnd(prefix) - start);
+        List<String> out = new ArrayList<>(Math.max(0, n));
+        if (n > 0) names.range(start, n, out::add);
+        return out;
+    }
+
     /**
      * Returns players sorted by wins descending, then losses ascending, then name.
      * Useful for top-player displays.
      */
-    public List<String> getTopPlayers() {
-        List<String> list = getSortedPlayers();
-        list.sort((a, b) -> {
-            int dw = Integer.compare(getWins(b), getWins(a)); // desc wins
-            if (dw != 0) return dw;
-            int dl = Integer.compare(getLosses(a), getLosses(b)); // asc losses
-            if (dl != 0) return dl;
-            return a.compareToIgnoreCase(b);
-        });
-        return list;
+    public synchronized List<String> getTopPlayers() {
+        return ranking.top(ranking.size());
+    }
+
+    /**
+     * Returns the first {@code count} players of {@link #getTopPlayers()} in O(count).
+     */
+    public synchronized List<String> getTopPlayers(int count) {
+        return ranking.top(count);
+    }
+
+    /**
+     * 1-based leaderboard position of a player, or -1 if unknown. O(log n).
+     */
+    public synchronized int getRank(String player) {
+        String p = validName(player);
+        long r = records.get(p);
+        if (r == PlayerRecords.ABSENT) return -1;
+        return ranking.rankOf(p, PlayerRecords.winsOf(r), PlayerRecords.lossesOf(r)) + 1;
+    }
+
+    /**
+     * {@link #getRank} for each player, all read under one lock so they are consistent with
+     * each other. O(k log n).
+     */
+    public synchronized int[] getRanks(List<String> players) {
+        int[] ranks = new int[players.size()];
+        for (int i = 0; i < ranks.length; i++) ranks[i] = getRank(players.get(i));
+        return ranks;
+    }
+
+    /**
+     * Player at a 1-based leaderboard position. O(log n).
+     */
+    public synchronized String getPlayerAtRank(int rank) {
+        return ranking.get(rank - 1);
+    }
+
+    public synchronized int getPlayerCount() {
+        return ranking.size();
+    }
+
+    /**
+     * One leaderboard row.
+     */
+    public record Standing(int rank, String player, int wins, int losses) { }
+
+    /**
+     * Rank and record of one player ("find my rank"), or null if unknown.
+     */
+    public synchronized Standing getStanding(String player) {
+        String p = validName(player);
+        int rank = getRank(p);
+        return rank < 0 ? null : new Standing(rank, p, getWins(p), getLosses(p));
+    }
+
+    /**
+     * Up to {@code count} leaderboard rows starting at the 1-based {@code fromRank},
+     * in O(log n + count), so a view can fetch just the rows it shows.
+     */
+    public synchronized List<Standing> getStandings(int fromRank, int count) {
+        List<Standing> out = new ArrayList<>(Math.max(0, Math.min(count, ranking.size() - fromRank + 1)));
+        if (fromRank < 1 || count <= 0) return out;
+        ranking.range(fromRank - 1, count, (name, w, l) -> out.add(new Standing(fromRank + out.size(), name, w, l)));
+        return out;
     }
 }
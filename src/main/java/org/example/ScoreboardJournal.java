@@ -0,0 +1,259 @@
+package org.example;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Append-only log of scoreboard changes, stored next to the snapshot as {@code <file>.journal}.
+ * One line per change, each with a sequence number:
+ *   seq,W,name            win
+ *   seq,L,name            loss
+ *   seq,S,wins,losses,name  record set explicitly
+ *   seq,D,name            player removed
+ *   seq,R,oldLength,oldnew  rename (old name is the first oldLength characters)
+ * The snapshot starts with "#seq=N"; on load only journal lines with a higher sequence
+ * number are replayed, so every crash point during compaction leaves a consistent pair.
+ * Responsibilities:
+ *  - buffer changes in memory and make them durable on {@link #flush()}
+ *  - replay the journal on load, dropping a torn last line
+ *  - compact: write a new snapshot in the background, then trim the journal
+ */
+final class ScoreboardJournal {
+
+    static final String SEQ_HEADER = "#seq=";
+
+    private final File journalFile;
+    private final long compactBytes;
+    private final StringBuilder pending = new StringBuilder();
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream(); // records counted by mark(), not yet on disk
+    private ExecutorService compactor;  // created on first compaction
+
+    private long seq;               // last sequence number handed out
+    private long length;            // bytes of complete records on disk
+    private boolean compacting;
+
+    ScoreboardJournal(File snapshotFile, long compactBytes) {
+        this.journalFile = new File(snapshotFile.getPath() + ".journal");
+        this.compactBytes = compactBytes;
+    }
+
+    File file() { return journalFile; }
+
+    /* ---------------------
+       Logging
+       --------------------- */
+
+    synchronized void logWin(String p) { begin().append("W,").append(p).append('\n'); }
+
+    synchronized void logLoss(String p) { begin().append("L,").append(p).append('\n'); }
+
+    synchronized void logSet(String p, int w, int l) {
+        begin().append("S,").append(w).append(',').append(l).append(',').append(p).append('\n');
+    }
+
+    synchronized void logRemove(String p) { begin().append("D,").append(p).append('\n'); }
+
+    synchronized void logRename(String o, String n) {
+        begin().append("R,").append(o.length()).append(',').append(o).append(n).append('\n');
+    }
+
+    private StringBuilder begin() { return pending.append(++seq).append(','); }
+
+    synchronized long lastSeq() { return seq; }
+
+    /**
+     * Journal length once everything logged so far is flushed; no I/O, so it can be taken
+     * together with a snapshot under the scoreboard lock.
+     */
+    synchronized long mark() {
+        encodePending();
+        return length + encoded.size();
+    }
+
+    /**
+     * Append buffered records and force them to disk. Returns the journal length afterwards.
+     * On failure the records stay buffered for the next flush.
+     */
+    synchronized long flush() throws IOException {
+        encodePending();
+        if (encoded.size() == 0) return length;
+        byte[] bytes = encoded.toByteArray();
+        try (FileChannel ch = FileChannel.open(journalFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ch.position(length);
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(false);
+        }
+        length += bytes.length;
+        PerfMetrics.BYTES_WRITTEN.add(bytes.length);
+        encoded.reset();
+        return length;
+    }
+
+    private void encodePending() {
+        if (pending.length() == 0) return;
+        encoded.writeBytes(pending.toString().getBytes(StandardCharsets.UTF_8));
+        pending.setLength(0);
+    }
+
+    synchronized boolean shouldCompact() { return !compacting && length >= compactBytes; }
+
+    /**
+     * Delete the journal after a full snapshot made it redundant.
+     */
+    synchronized void discard() {
+        pending.setLength(0);
+        encoded.reset();
+        length = 0;
+        journalFile.delete();
+    }
+
+    /* ---------------------
+       Replay
+       --------------------- */
+
+    /**
+     * Apply journal records newer than {@code snapshotSeq}. A torn last line is cut off
+     * so later appends start on a clean line. Call with this journal's lock held.
+     */
+    synchronized void replay(Scoreboard target, long snapshotSeq) throws IOException {
+        pending.setLength(0);
+        encoded.reset();
+        seq = snapshotSeq;
+        length = 0;
+        if (!journalFile.exists()) return;
+
+        byte[] data = Files.readAllBytes(journalFile.toPath());
+        int start = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] != '\n') continue;
+            String line = new String(data, start, i - start, StandardCharsets.UTF_8);
+            start = i + 1;
+            applyLine(target, line, snapshotSeq);
+        }
+        length = start;
+        if (start < data.length) {
+            try (FileChannel ch = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+                ch.truncate(start);
+            }
+        }
+    }
+
+    private void applyLine(Scoreboard target, String line, long snapshotSeq) {
+        int c1 = line.indexOf(',');
+        int c2 = c1 < 0 ? -1 : line.indexOf(',', c1 + 1);
+        if (c2 != c1 + 2) return; // malformed
+        long s;
+        try {
+            s = Long.parseLong(line.substring(0, c1));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        seq = Math.max(seq, s);
+        if (s <= snapshotSeq) return;
+
+        String rest = line.substring(c2 + 1);
+        try {
+            switch (line.charAt(c1 + 1)) {
+                case 'W' -> target.applyWin(rest);
+                case 'L' -> target.applyLoss(rest);
+                case 'D' -> target.applyRemove(rest);
+                case 'S' -> {
+                    int a = rest.indexOf(','), b = rest.indexOf(',', a + 1);
+                    target.applySet(rest.substring(b + 1),
+                            Integer.parseInt(rest.substring(0, a)), Integer.parseInt(rest.substring(a + 1, b)));
+                }
+                case 'R' -> {
+                    int a = rest.indexOf(',');
+                    int len = Integer.parseInt(rest.substring(0, a));
+                    String names = rest.substring(a + 1);
+                    target.applyRename(names.substring(0, len), names.substring(len));
+                }
+                default -> { } // unknown record type: skip
+            }
+        } catch (RuntimeException e) {
+            // malformed record: skip it, like malformed snapshot lines
+        }
+    }
+
+    /* ---------------------
+       Compaction
+       --------------------- */
+
+    /**
+     * Run {@code writeSnapshot} on the background thread, then install its output as the
+     * new snapshot and drop the first {@code coveredLength} journal bytes it covers.
+     */
+    synchronized void compactInBackground(SnapshotWriter writeSnapshot, File snapshot, long coveredLength) {
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "scoreboard-compactor");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        compacting = true;
+        compactor.execute(() -> {
+            try {
+                File temp = writeSnapshot.write();
+                if (temp != null) install(temp, snapshot, coveredLength);
+            } catch (IOException e) {
+                System.err.println("Scoreboard compaction failed: " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                synchronized (this) {
+                    compacting = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes a snapshot to a temp file and returns it (null on failure).
+     */
+    interface SnapshotWriter {
+        File write() throws IOException;
+    }
+
+    private synchronized void install(File temp, File snapshot, long coveredLength) throws IOException {
+        Scoreboard.replaceFile(temp, snapshot);
+
+        // the new snapshot covers everything up to coveredLength; keep only the tail
+        File trimmed = new File(journalFile.getPath() + ".tmp");
+        try (FileChannel in = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(trimmed.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long tail = length - coveredLength;
+            long done = 0;
+            while (done < tail) done += in.transferTo(coveredLength + done, tail - done, out);
+            out.force(false);
+        }
+        Scoreboard.replaceFile(trimmed, journalFile);
+        length -= coveredLength;
+    }
+
+    /**
+     * Wait for a running compaction to finish (used before reloading and in tests).
+     */
+    void awaitCompaction() {
+        ExecutorService c;
+        synchronized (this) {
+            c = compactor;
+        }
+        if (c == null) return;
+        try {
+            c.submit(() -> { }).get();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+        }
+    }
+}
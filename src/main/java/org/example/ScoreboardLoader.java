@@ -0,0 +1,243 @@
+package org.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Reads a scoreboard snapshot into a {@link PlayerRecords} table.
+ * Accepted line formats:
+ *   name,wins,losses       current CSV format
+ *   name W:wins L:losses   legacy format (migrated; the next save writes CSV)
+ *   #seq=N                 journal sequence covered by the snapshot
+ * Large files are split into chunks at line boundaries and the chunks are parsed in
+ * parallel straight from the memory-mapped file (no readLine/split per line). Chunk
+ * results are merged in file order, so a name that appears twice keeps its last record.
+ * Responsibilities:
+ *  - parse both formats without per-line intermediate strings
+ *  - count accepted, migrated and rejected lines
+ */
+final class ScoreboardLoader {
+
+    private static final long MIN_CHUNK = 1L << 20;  // smaller files are parsed on one thread
+
+    /** Outcome of a load: the journal sequence the snapshot covers and the line counts. */
+    record Result(long snapshotSeq, Scoreboard.LoadReport report) { }
+
+    private ScoreboardLoader() { }
+
+    /**
+     * Parse {@code file} into {@code records} (which the caller has cleared).
+     */
+    static Result load(File file, PlayerRecords records) throws IOException {
+        long start = System.nanoTime();
+        if (!file.exists()) return new Result(0, new Scoreboard.LoadReport(0, 0, 0, 0));
+
+        List<Chunk> chunks;
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = ch.size();
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            long chunkSize = Math.max(MIN_CHUNK, size / (parallelism * 4L) + 1);
+            int count = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+            IntStream ids = IntStream.range(0, count);
+            if (count > 1) ids = ids.parallel();
+            chunks = ids.mapToObj(i -> {
+                try {
+                    return parse(ch, i * chunkSize, Math.min(size, (i + 1) * chunkSize), size);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        long seq = 0, accepted = 0, migrated = 0, rejected = 0;
+        for (Chunk c : chunks) {
+            for (int i = 0; i < c.count; i++) records.put(c.names[i], c.packed[i]);
+            if (c.seq >= 0) seq = c.seq;
+            accepted += c.accepted;
+            migrated += c.migrated;
+            rejected += c.rejected;
+        }
+        return new Result(seq, new Scoreboard.LoadReport(accepted, migrated, rejected, System.nanoTime() - start));
+    }
+
+    /* ---------------------
+       Chunk parsing
+       --------------------- */
+
+    /** Records parsed from one chunk, in file order. */
+    private static final class Chunk {
+        String[] names = new String[256];
+        long[] packed = new long[256];
+        int count;
+        long seq = -1;
+        long accepted, migrated, rejected;
+
+        void add(String name, int wins, int losses) {
+            if (count == names.length) {
+                names = Arrays.copyOf(names, count * 2);
+                packed = Arrays.copyOf(packed, count * 2);
+            }
+            names[count] = name;
+            packed[count++] = PlayerRecords.pack(wins, losses);
+        }
+    }
+
+    /**
+     * Parse the lines that start in [from, to). The last one may run past {@code to}.
+     */
+    private static Chunk parse(FileChannel ch, long from, long to, long size) throws IOException {
+        Chunk chunk = new Chunk();
+        // map from the byte before the chunk so we can tell whether it starts a line
+        long base = Math.max(0, from - 1);
+        long window = Math.min(size - base, Integer.MAX_VALUE);
+        if (window <= 0) return chunk;
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, base, window);
+        int limit = (int) window;
+        int end = (int) (to - base);
+
+        int pos = (int) (from - base);
+        if (from > 0) {
+            // a line that began in the previous chunk belongs to it
+            pos = 0;
+            while (pos < limit && buf.get(pos) != '\n') pos++;
+            pos++;
+        }
+
+        byte[] scratch = new byte[128];
+        while (pos < end && pos < limit) {
+            int lineEnd = pos;
+            while (lineEnd < limit && buf.get(lineEnd) != '\n') lineEnd++;
+            if (lineEnd - pos > scratch.length) scratch = new byte[Math.max(lineEnd - pos, scratch.length * 2)];
+            buf.get(pos, scratch, 0, lineEnd - pos);
+            parseLine(scratch, 0, lineEnd - pos, chunk);
+            pos = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    private static void parseLine(byte[] b, int from, int to, Chunk chunk) {
+        from = skipSpace(b, from, to);
+        to = trimEnd(b, from, to);
+        if (from == to) return;
+
+        if (b[from] == '#') {
+            long seq = header(b, from, to);
+            if (seq >= 0) chunk.seq = seq;
+            else chunk.rejected++;
+            return;
+        }
+
+        int c1 = indexOf(b, ',', from, to);
+        if (c1 >= 0) {
+            // name,wins,losses
+            int c2 = indexOf(b, ',', c1 + 1, to);
+            if (c2 < 0 || indexOf(b, ',', c2 + 1, to) >= 0) {
+                chunk.rejected++;
+                return;
+            }
+            long w = number(b, c1 + 1, c2);
+            long l = number(b, c2 + 1, to);
+            int nameEnd = trimEnd(b, from, c1);
+            if (w == Long.MIN_VALUE || l == Long.MIN_VALUE || nameEnd == from) {
+                chunk.rejected++;
+                return;
+            }
+            chunk.add(new String(b, from, nameEnd - from, StandardCharsets.UTF_8), (int) w, (int) l);
+            chunk.accepted++;
+            return;
+        }
+
+        // legacy: name W:wins L:losses (name may contain spaces)
+        int lTok = lastToken(b, from, to);
+        int wTok = lastToken(b, from, trimEnd(b, from, lTok));
+        int nameEnd = trimEnd(b, from, wTok);
+        if (wTok > from && nameEnd > from
+                && tokenIs(b, lTok, to, 'L') && tokenIs(b, wTok, trimEnd(b, from, lTok), 'W')) {
+            long w = number(b, wTok + 2, trimEnd(b, from, lTok));
+            long l = number(b, lTok + 2, to);
+            if (w != Long.MIN_VALUE && l != Long.MIN_VALUE) {
+                chunk.add(new String(b, from, nameEnd - from, StandardCharsets.UTF_8), (int) w, (int) l);
+                chunk.migrated++;
+                return;
+            }
+        }
+        chunk.rejected++;
+    }
+
+    /* ---------------------
+       Byte helpers
+       --------------------- */
+
+    private static boolean isSpace(byte c) { return c == ' ' || c == '\t' || c == '\r'; }
+
+    private static int skipSpace(byte[] b, int from, int to) {
+        while (from < to && isSpace(b[from])) from++;
+        return from;
+    }
+
+    private static int trimEnd(byte[] b, int from, int to) {
+        while (to > from && isSpace(b[to - 1])) to--;
+        return to;
+    }
+
+    private static int indexOf(byte[] b, char c, int from, int to) {
+        for (int i = from; i < to; i++) if (b[i] == c) return i;
+        return -1;
+    }
+
+    /** Start of the last whitespace-separated token in [from, to). */
+    private static int lastToken(byte[] b, int from, int to) {
+        int i = to;
+        while (i > from && !isSpace(b[i - 1])) i--;
+        return i;
+    }
+
+    private static boolean tokenIs(byte[] b, int from, int to, char tag) {
+        return to - from >= 3 && b[from] == tag && b[from + 1] == ':';
+    }
+
+    /**
+     * Parse a decimal int between optional spaces; negative values clamp to 0.
+     * Returns Long.MIN_VALUE if malformed or out of int range.
+     */
+    private static long number(byte[] b, int from, int to) {
+        from = skipSpace(b, from, to);
+        to = trimEnd(b, from, to);
+        boolean negative = false;
+        if (from < to && (b[from] == '-' || b[from] == '+')) negative = b[from++] == '-';
+        if (from == to) return Long.MIN_VALUE;
+        long v = 0;
+        for (int i = from; i < to; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) return Long.MIN_VALUE;
+            v = v * 10 + d;
+            if (v > Integer.MAX_VALUE + 1L) return Long.MIN_VALUE;
+        }
+        if (negative) return 0;
+        return v > Integer.MAX_VALUE ? Long.MIN_VALUE : v;
+    }
+
+    /** Value of a "#seq=N" header, or -1 if the line is not one. */
+    private static long header(byte[] b, int from, int to) {
+        byte[] h = ScoreboardJournal.SEQ_HEADER.getBytes(StandardCharsets.US_ASCII);
+        if (to - from <= h.length) return -1;
+        for (int i = 0; i < h.length; i++) if (b[from + i] != h[i]) return -1;
+        long v = 0;
+        for (int i = from + h.length; i < to; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9 || v > (Long.MAX_VALUE - d) / 10) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+}
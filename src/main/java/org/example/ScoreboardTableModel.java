@@ -0,0 +1,197 @@
+package org.example;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table model that reads the scoreboard on demand instead of copying it.
+ * Rows are fetched a page at a time as the table asks for them and a few pages are cached,
+ * so opening the dialog costs the same with ten players or ten million.
+ * Rank order reads the ranked index ({@link Scoreboard#getStandings(int, int)}) and name
+ * order reads the name index ({@link Scoreboard#getPlayersWithPrefix(String, int, int)}),
+ * filtered by prefix or not. Only a filter in rank order needs a list of the matching names,
+ * sorted by rank on a background thread; the table keeps showing the old rows meanwhile.
+ * Responsibilities:
+ *  - lazy, paged row access
+ *  - rank or name order, ascending or descending (chosen by clicking a column header)
+ *  - case-insensitive name prefix filter
+ */
+public class ScoreboardTableModel extends AbstractTableModel {
+
+    private static final int PAGE_ROWS = 128;
+    private static final int CACHED_PAGES = 32;
+    private static final String[] COLUMNS = {"#", "Player", "Wins", "Losses", "Rating"};
+
+    private final Scoreboard scoreboard;
+    private final Ratings ratings; // may be null: no rating column
+
+    // current view; names is only set for a filter in rank order, otherwise rows are read live
+    private String filter = "";
+    private boolean byName;
+    private boolean descending;
+    private List<String> names;
+    private int nameRows;          // players matching the filter, in name order
+    private int generation;        // bumped per view change so stale background results are dropped
+
+    private final Map<Integer, List<Scoreboard.Standing>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<Integer, List<Scoreboard.Standing>> e) {
+            return size() > CACHED_PAGES;
+        }
+    };
+
+    public ScoreboardTableModel(Scoreboard scoreboard, Ratings ratings) {
+        this.scoreboard = scoreboard;
+        this.ratings = ratings;
+    }
+
+    /* ---------------------
+       TableModel
+       --------------------- */
+
+    @Override
+    public int getRowCount() {
+        if (names != null) return names.size();
+        return byName ? nameRows : scoreboard.getPlayerCount();
+    }
+
+    @Override
+    public int getColumnCount() { return ratings == null ? COLUMNS.length - 1 : COLUMNS.length; }
+
+    @Override
+    public String getColumnName(int column) {
+        String name = COLUMNS[column];
+        boolean sorted = column == 1 ? byName : column == 0 && !byName;
+        return sorted ? name + (descending ? " ▼" : " ▲") : name;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 1 ? String.class : column == 4 ? Long.class : Integer.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Scoreboard.Standing s = standing(row);
+        if (s == null) return null;
+        return switch (column) {
+            case 0 -> s.rank();
+            case 1 -> s.player();
+            case 2 -> s.wins();
+            case 3 -> s.losses();
+            default -> Math.round(ratings.getRating(s.player()));
+        };
+    }
+
+    /* ---------------------
+       View: sort & filter (EDT)
+       --------------------- */
+
+    /**
+     * Toggle or switch the order for a clicked column: "#" sorts by rank, "Player" by name.
+     */
+    public void sortByColumn(int column) {
+        if (column != 0 && column != 1) return;
+        boolean name = column == 1;
+        setView(filter, name, name == byName && !descending);
+    }
+
+    public void setFilter(String text) {
+        setView(text == null ? "" : text.trim(), byName, descending);
+    }
+
+    /**
+     * Re-read the scoreboard (after it changed).
+     */
+    public void refresh() {
+        setView(filter, byName, descending);
+    }
+
+    public String getFilter() { return filter; }
+
+    private void setView(String filter, boolean byName, boolean descending) {
+        this.filter = filter;
+        this.byName = byName;
+        this.descending = descending;
+        int gen = ++generation;
+        if (byName || filter.isEmpty()) {
+            nameRows = byName ? scoreboard.countPlayersWithPrefix(filter) : 0;
+            show(null, gen); // read straight from an index, nothing to build
+            return;
+        }
+        new SwingWorker<List<String>, Void>() {
+            @Override
+            protected List<String> doInBackground() {
+                List<String> list = scoreboard.getPlayersWithPrefix(filter, 0, Integer.MAX_VALUE);
+                int[] ranks = scoreboard.getRanks(list); // one locked call, not one per name
+                Integer[] order = new Integer[list.size()];
+                for (int i = 0; i < order.length; i++) order[i] = i;
+                Arrays.sort(order, (a, b) -> Integer.compare(ranks[a], ranks[b]));
+                List<String> byRank = new ArrayList<>(order.length);
+                for (Integer i : order) if (ranks[i] > 0) byRank.add(list.get(i)); // -1: removed meanwhile
+                if (descending) Collections.reverse(byRank);
+                return byRank;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    show(get(), gen);
+                } catch (Exception e) {
+                    System.err.println("Failed to filter scoreboard: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    private void show(List<String> view, int gen) {
+        if (gen != generation) return;
+        names = view;
+        pages.clear();
+        fireTableStructureChanged(); // header shows the new sort arrow
+    }
+
+    /* ---------------------
+       Paging
+       --------------------- */
+
+    private Scoreboard.Standing standing(int row) {
+        List<Scoreboard.Standing> page = pages.computeIfAbsent(row / PAGE_ROWS, this::fetch);
+        int i = row % PAGE_ROWS;
+        return i < page.size() ? page.get(i) : null;
+    }
+
+    private List<Scoreboard.Standing> fetch(int page) {
+        int first = page * PAGE_ROWS;
+        if (names != null) return standingsOf(names.subList(Math.min(first, names.size()),
+                Math.min(names.size(), first + PAGE_ROWS)));
+        if (byName) {
+            if (!descending) return standingsOf(scoreboard.getPlayersWithPrefix(filter, first, PAGE_ROWS));
+            // reversed name order: row 0 is the last match
+            int from = Math.max(0, nameRows - first - PAGE_ROWS);
+            List<String> rows = new ArrayList<>(scoreboard.getPlayersWithPrefix(filter, from, nameRows - first - from));
+            Collections.reverse(rows);
+            return standingsOf(rows);
+        }
+        if (!descending) return scoreboard.getStandings(first + 1, PAGE_ROWS);
+        // reversed leaderboard: row 0 is the last rank
+        int n = scoreboard.getPlayerCount();
+        int lastRank = n - first, firstRank = Math.max(1, lastRank - PAGE_ROWS + 1);
+        List<Scoreboard.Standing> out = new ArrayList<>(scoreboard.getStandings(firstRank, lastRank - firstRank + 1));
+        Collections.reverse(out);
+        return out;
+    }
+
+    private List<Scoreboard.Standing> standingsOf(List<String> players) {
+        List<Scoreboard.Standing> out = new ArrayList<>(players.size());
+        for (String p : players)
+            out.add(new Scoreboard.Standing(scoreboard.getRank(p), p, scoreboard.getWins(p), scoreboard.getLosses(p)));
+        return out;
+    }
+}
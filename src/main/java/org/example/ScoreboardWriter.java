@@ -0,0 +1,236 @@
+package org.example;
+
+import java.io.IOException;
+
+/**
+ * Background group-commit writer for a {@link Scoreboard}.
+ * Callers (e.g. the Swing EDT) only call {@link #requestSave()}, which never touches the disk.
+ * A dedicated thread waits up to {@code maxDelayMillis} after the first pending request so
+ * that rapid successive results are coalesced, then commits them with one
+ * {@link Scoreboard#save()}. Pending changes are flushed on {@link #close()} and, as a safety
+ * net, on JVM shutdown. A failed commit is reported to the callers waiting on it; the changes
+ * stay in memory and the writer retries them with exponential backoff (1 s doubling up to 1 min)
+ * until a commit succeeds.
+ * Responsibilities:
+ *  - coalesce save requests into batched commits with a bounded delay
+ *  - let callers wait until their changes are durable
+ *  - report queue depth and commit latency
+ */
+public class ScoreboardWriter implements AutoCloseable {
+
+    private static final long RETRY_MIN_NANOS = 1_000_000_000L;
+    private static final long RETRY_MAX_NANOS = 60_000_000_000L;
+
+    private final Scoreboard scoreboard;
+    private final long maxDelayNanos;
+    private final Thread thread;
+    private final Thread shutdownHook;
+
+    // guarded by this
+    private long requested;         // save requests received
+    private long attempted;         // requests covered by a finished commit attempt
+    private long committed;         // requests covered by a successful commit
+    private Throwable failure;      // cause of the last failed attempt, null after a success
+    private long firstPendingAt;    // nanoTime of the oldest uncommitted request
+    private long retryAt;           // nanoTime of the next attempt after a failed commit
+    private long retryDelayNanos = RETRY_MIN_NANOS;
+    private boolean urgent;         // skip the coalescing delay and any retry backoff
+    private boolean closed;
+
+    // metrics, guarded by this
+    private long commits;
+    private long totalCommitNanos;
+    private long maxCommitNanos;
+    private long lastCommitNanos;
+
+    public ScoreboardWriter(Scoreboard scoreboard, long maxDelayMillis) {
+        if (maxDelayMillis < 0) throw new IllegalArgumentException("Delay must not be negative");
+        this.scoreboard = scoreboard;
+        this.maxDelayNanos = maxDelayMillis * 1_000_000L;
+        this.thread = new Thread(this::run, "scoreboard-writer");
+        this.shutdownHook = new Thread(this::close, "scoreboard-writer-shutdown");
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /* ---------------------
+       Requests
+       --------------------- */
+
+    /**
+     * Ask for the current scoreboard state to be saved soon. Never blocks on I/O
+     * unless the writer has already been closed, in which case it saves directly.
+     */
+    public void requestSave() {
+        synchronized (this) {
+            if (!closed) {
+                if (requested == attempted) firstPendingAt = System.nanoTime();
+                requested++;
+                notifyAll();
+                return;
+            }
+        }
+        scoreboard.save(); // writer already closed: fall back to a direct save
+    }
+
+    /**
+     * Block until every request made before this call has been committed.
+     *
+     * @throws IOException if the commit covering those requests failed
+     */
+    public synchronized void awaitDurable() throws InterruptedException, IOException {
+        long target = requested;
+        hurry(target);
+        while (attempted < target) wait();
+        checkCommitted(target);
+    }
+
+    /**
+     * Like {@link #awaitDurable()} but gives up after the timeout. Returns true if durable,
+     * false on timeout.
+     *
+     * @throws IOException if the commit covering the earlier requests failed
+     */
+    public synchronized boolean awaitDurable(long timeoutMillis) throws InterruptedException, IOException {
+        long target = requested;
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        hurry(target);
+        while (attempted < target) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) return false;
+            wait(Math.max(1, left / 1_000_000L));
+        }
+        checkCommitted(target);
+        return true;
+    }
+
+    // only while something is still to be attempted, or the flag would outlive this wait
+    private void hurry(long target) {
+        if (attempted < target) {
+            urgent = true;
+            notifyAll();
+        }
+    }
+
+    // a later successful commit also covers earlier requests, since every save writes the whole state
+    private void checkCommitted(long target) throws IOException {
+        if (committed < target) throw new IOException("Scoreboard save failed", failure);
+    }
+
+    /**
+     * Commit anything pending and stop the writer thread. Idempotent.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignore) {
+                // JVM already shutting down
+            }
+        }
+    }
+
+    /* ---------------------
+       Metrics
+       --------------------- */
+
+    /**
+     * Snapshot of the writer's counters.
+     */
+    public record Metrics(long queueDepth, long requests, long commits,
+                          double avgCommitMillis, double maxCommitMillis, double lastCommitMillis) {
+        @Override
+        public String toString() {
+            return String.format("queue=%d, requests=%d, commits=%d, commit avg=%.2f ms, max=%.2f ms, last=%.2f ms",
+                    queueDepth, requests, commits, avgCommitMillis, maxCommitMillis, lastCommitMillis);
+        }
+    }
+
+    public synchronized Metrics getMetrics() {
+        return new Metrics(requested - attempted, requested, commits,
+                commits == 0 ? 0 : totalCommitNanos / 1e6 / commits,
+                maxCommitNanos / 1e6, lastCommitNanos / 1e6);
+    }
+
+    /* ---------------------
+       Writer thread
+       --------------------- */
+
+    private void run() {
+        while (true) {
+            long target;
+            boolean last;
+            synchronized (this) {
+                try {
+                    while (!closed) {
+                        boolean pending = requested > attempted;
+                        boolean retry = committed < attempted;
+                        if (!pending && !retry) {
+                            wait();
+                            continue;
+                        }
+                        // coalescing window from the oldest pending request, then any retry backoff
+                        long now = System.nanoTime(), left = 0;
+                        if (pending && urgent) break;
+                        if (pending) left = firstPendingAt + maxDelayNanos - now;
+                        if (retry) left = Math.max(left, retryAt - now);
+                        if (left <= 0) break;
+                        wait(Math.max(1, left / 1_000_000L));
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                if (requested == attempted && committed == attempted) {
+                    if (closed) return;
+                    continue;
+                }
+                target = requested;
+                last = closed; // no requests are queued after close, so this attempt is the final one
+                urgent = false;
+            }
+
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                // save() logs its own I/O errors
+                if (!scoreboard.save()) error = new IOException("Could not write " + scoreboard.file());
+            } catch (RuntimeException e) {
+                System.err.println("Scoreboard save failed: " + e);
+                e.printStackTrace();
+                error = e;
+            }
+            long took = System.nanoTime() - start;
+
+            synchronized (this) {
+                attempted = target;
+                failure = error;
+                if (error == null) {
+                    committed = target;
+                    retryDelayNanos = RETRY_MIN_NANOS;
+                } else {
+                    retryAt = System.nanoTime() + retryDelayNanos;
+                    retryDelayNanos = Math.min(RETRY_MAX_NANOS, retryDelayNanos * 2);
+                }
+                if (requested > attempted) firstPendingAt = System.nanoTime();
+                commits++;
+                totalCommitNanos += took;
+                maxCommitNanos = Math.max(maxCommitNanos, took);
+                lastCommitNanos = took;
+                notifyAll();
+                if (last) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Headless match runner: plays many games between two strategies on all cores.
+ * Games are split into batches; each batch owns its board, its players and its random
+ * generator, so workers share no mutable state. Batch results are merged at the end.
+ * Strategies swap sides every other game so neither profits from moving first.
+ */
+public class SelfPlaySimulator {
+
+    /**
+     * Creates a fresh strategy for one worker batch.
+     */
+    public interface StrategyFactory {
+        ComputerPlayer create(SplittableRandom rng);
+    }
+
+    /**
+     * Aggregated outcome of a simulation run, from strategy A's point of view.
+     */
+    public record Result(long games, long winsA, long winsB, long draws, long moves, long elapsedNanos) {
+
+        public Result merge(Result other) {
+            return new Result(games + other.games, winsA + other.winsA, winsB + other.winsB,
+                    draws + other.draws, moves + other.moves, Math.max(elapsedNanos, other.elapsedNanos));
+        }
+
+        public double gamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d games: A wins %,d (%.1f%%), B wins %,d (%.1f%%), draws %,d (%.1f%%), "
+                            + "%.2f moves/game, %.2f s, %,.0f games/s",
+                    games, winsA, pct(winsA), winsB, pct(winsB), draws, pct(draws),
+                    games == 0 ? 0 : (double) moves / games, elapsedNanos / 1e9, gamesPerSecond());
+        }
+
+        private double pct(long n) { return games == 0 ? 0 : 100.0 * n / games; }
+    }
+
+    private static final int BATCHES_PER_WORKER = 8; // extra batches keep cores busy until the end
+    private static final int RECORD_FLUSH_BYTES = 64 * 1024;
+    private static final long MCTS_PLAYOUTS = 1_000;  // per move for the plain "mcts" strategy
+
+    private final int size;
+    private final int winLength;
+    private final ForkJoinPool pool;
+    private GameLog log;           // records every game when set
+    private String nameA = "A";
+    private String nameB = "B";
+
+    /**
+     * Simulator with one worker per core.
+     */
+    public SelfPlaySimulator(int size, int winLength) {
+        this(size, winLength, new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+    }
+
+    public SelfPlaySimulator(int size, int winLength, ForkJoinPool pool) {
+        new Board(size, winLength); // validates the dimensions
+        this.size = size;
+        this.winLength = winLength;
+        this.pool = pool;
+    }
+
+    /**
+     * Record every game of later runs in {@code log}, with the strategies under these names.
+     */
+    public void recordTo(GameLog log, String nameA, String nameB) {
+        this.log = log;
+        this.nameA = nameA;
+        this.nameB = nameB;
+    }
+
+    /* ---------------------
+       Running
+       --------------------- */
+
+    public Result run(StrategyFactory a, StrategyFactory b, long games, long seed) {
+        long start = System.nanoTime();
+        int batches = (int) Math.max(1, Math.min(games, (long) pool.getParallelism() * BATCHES_PER_WORKER));
+
+        // random generators are split here, on the calling thread, one per batch
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Callable<Result>> tasks = new ArrayList<>(batches);
+        long first = 0;
+        for (int i = 0; i < batches; i++) {
+            long count = games / batches + (i < games % batches ? 1 : 0);
+            long firstGame = first;
+            SplittableRandom rng = root.split();
+            tasks.add(() -> playBatch(a, b, firstGame, count, rng));
+            first += count;
+        }
+
+        Result total = new Result(0, 0, 0, 0, 0, 0);
+        for (Future<Result> f : pool.invokeAll(tasks)) total = total.merge(join(f));
+        return new Result(total.games, total.winsA, total.winsB, total.draws, total.moves,
+                System.nanoTime() - start);
+    }
+
+    private Result playBatch(StrategyFactory a, StrategyFactory b, long firstGame, long count,
+                             SplittableRandom rng) {
+        ComputerPlayer playerA = a.create(rng.split());
+        ComputerPlayer playerB = b.create(rng.split());
+        if (log == null) return playGames(playerA, playerB, new Board(size, winLength), firstGame, count, null);
+
+        // each batch encodes its own games and appends them in large blocks
+        GameLog.Batch recorded = new GameLog.Batch();
+        Result result = playGames(playerA, playerB, new Board(size, winLength), firstGame, count,
+                (board, history, aIsX) -> {
+                    recorded.add(GameRecord.of(board, aIsX ? nameA : nameB, aIsX ? nameB : nameA, history));
+                    if (recorded.bytes() >= RECORD_FLUSH_BYTES) log.append(recorded);
+                });
+        log.append(recorded);
+        return result;
+    }
+
+    /**
+     * Receives each game of {@link #playGames} as soon as it ends.
+     */
+    interface GameListener {
+        /**
+         * @param history the moves in order, in its first {@code board.getMoveCount()} entries
+         * @param aIsX    whether player A had X in this game
+         */
+        void finished(Board board, int[] history, boolean aIsX);
+    }
+
+    /**
+     * The game loop shared with {@link Tournament}: plays games {@code firstGame} to
+     * {@code firstGame + count - 1} on {@code board}, player A taking X in the even ones.
+     *
+     * @param listener told about every finished game; may be null
+     * @return the outcome from player A's point of view (elapsed time not measured)
+     */
+    static Result playGames(ComputerPlayer playerA, ComputerPlayer playerB, Board board,
+                            long firstGame, long count, GameListener listener) {
+        long winsA = 0, winsB = 0, draws = 0, moves = 0;
+        int[] history = new int[board.getSize() * board.getSize()];
+
+        for (long g = firstGame; g < firstGame + count; g++) {
+            boolean aIsX = (g & 1) == 0;
+            board.reset();
+            while (!board.hasWinner() && !board.isFull()) {
+                boolean aToMove = (board.toMove() == Board.X) == aIsX;
+                int cell = (aToMove ? playerA : playerB).chooseMove(board);
+                board.place(cell, board.toMove());
+                history[board.getMoveCount() - 1] = cell;
+            }
+            moves += board.getMoveCount();
+            if (listener != null) listener.finished(board, history, aIsX);
+
+            byte winner = board.winner();
+            if (winner == Board.EMPTY) draws++;
+            else if ((winner == Board.X) == aIsX) winsA++;
+            else winsB++;
+        }
+        return new Result(count, winsA, winsB, draws, moves, 0);
+    }
+
+    private static Result join(Future<Result> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        }
+    }
+
+    /* ---------------------
+       Strategies by name
+       --------------------- */
+
+    /**
+     * Factory for "random", "heuristic", "perfect" (3x3 only), "mcts" (1,000 playouts per move)
+     * or "mcts:N" (N playouts per move). MCTS players search single-threaded on the batch's
+     * worker with the batch's random generator, so results do not depend on timing.
+     */
+    public static StrategyFactory strategy(String name) {
+        String lower = name.toLowerCase();
+        if (lower.startsWith("mcts:")) {
+            long playouts = Long.parseLong(lower.substring(5));
+            return rng -> new MctsPlayer(playouts, rng);
+        }
+        switch (lower) {
+            case "random": return RandomPlayer::new;
+            case "heuristic": return HeuristicPlayer::new;
+            case "perfect": return rng -> new PerfectPlayer();
+            case "mcts": return rng -> new MctsPlayer(MCTS_PLAYOUTS, rng);
+            default: throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    /**
+     * Usage: SelfPlaySimulator strategyA strategyB [games] [size] [winLength] [seed] [gameLog]
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: SelfPlaySimulator <random|heuristic|perfect|mcts> <...> [games] [size] [winLength] [seed] [gameLog]");
+            System.exit(2);
+        }
+        long games = args.length > 2 ? Long.parseLong(args[2]) : 1_000_000L;
+        int size = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        int winLength = args.length > 4 ? Integer.parseInt(args[4]) : size;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+
+        SelfPlaySimulator sim = new SelfPlaySimulator(size, winLength);
+        GameLog log = args.length > 6 ? new GameLog(new java.io.File(args[6])) : null;
+        if (log != null) sim.recordTo(log, "A:" + args[0], "B:" + args[1]);
+        System.out.printf("%s (A) vs %s (B) on %dx%d, %d in a row, %d workers%n",
+                args[0], args[1], size, size, winLength, sim.pool.getParallelism());
+        System.out.println(sim.run(strategy(args[0]), strategy(args[1]), games, seed));
+        if (log != null) {
+            try {
+                log.close();
+            } catch (java.io.IOException e) {
+                System.err.println("Failed to write game log: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+}
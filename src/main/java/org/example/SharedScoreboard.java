@@ -0,0 +1,245 @@
+package org.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Scoreboard} for several game processes sharing one scoreboard file.
+ * Every change since the last save is kept as an operation. On save the current file is
+ * re-read, the operations are replayed on top of it and the result is written back, so
+ * results from every process survive instead of the last save winning.
+ * Saves are optimistic: reading, merging and writing the temp file happen without any
+ * lock; only the final check-and-rename holds an exclusive lock on {@code <file>.lock}.
+ * If another process replaced the file in between, the merge is redone; after a few
+ * lost races the whole merge runs under the lock so a save always finishes.
+ * Responsibilities:
+ *  - remember changes since the last successful save
+ *  - merge them into the on-disk state with a short cross-process lock
+ *  - pick up other processes' results on every save and load
+ */
+public class SharedScoreboard extends Scoreboard {
+
+    private static final int OPTIMISTIC_ATTEMPTS = 3;
+    private static final Object JVM_LOCK = new Object(); // FileLock is per process, not per thread
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    /** One change made through the public API, replayable on any scoreboard. */
+    private record Op(char type, String name, String other, int wins, int losses) {
+        void applyTo(Scoreboard target) {
+            switch (type) {
+                case 'W' -> target.applyWin(name);
+                case 'L' -> target.applyLoss(name);
+                case 'A' -> target.applyAdd(name, wins, losses);
+                case 'S' -> target.applySet(name, wins, losses);
+                case 'D' -> target.applyRemove(name);
+                case 'R' -> target.applyRename(name, other);
+                default -> throw new IllegalStateException("Unknown op " + type);
+            }
+        }
+    }
+
+    /** Identity of the file on disk; changes whenever another process replaces it. */
+    private record Version(Object fileKey, FileTime modified, long size) {
+        static final Version ABSENT = new Version(null, null, -1);
+    }
+
+    private final File lockFile;
+    private final File tempFile;     // per process and instance: optimistic writes overlap
+    private final Object saveLock = new Object();
+    private final List<Op> pending = new ArrayList<>(); // guarded by this
+    private volatile long lastSaveLockNanos;
+    private volatile int lastSaveAttempts;
+
+    /**
+     * Shared scoreboard in scoreboard.txt.
+     */
+    public SharedScoreboard() {
+        this(new File(FILE));
+    }
+
+    public SharedScoreboard(File file) {
+        super(file, false);
+        this.lockFile = new File(file.getPath() + ".lock");
+        this.tempFile = new File(file.getPath() + "." + ProcessHandle.current().pid()
+                + "-" + INSTANCES.incrementAndGet() + ".tmp");
+    }
+
+    /* ---------------------
+       Updates (recorded for the next merge)
+       --------------------- */
+
+    @Override
+    public synchronized void addWin(String player) {
+        super.addWin(player);
+        pending.add(new Op('W', validName(player), null, 0, 0));
+    }
+
+    @Override
+    public synchronized void addLoss(String player) {
+        super.addLoss(player);
+        pending.add(new Op('L', validName(player), null, 0, 0));
+    }
+
+    @Override
+    public synchronized void addResults(String player, int winCount, int lossCount) {
+        super.addResults(player, winCount, lossCount);
+        pending.add(new Op('A', validName(player), null, Math.max(0, winCount), Math.max(0, lossCount)));
+    }
+
+    @Override
+    public synchronized void setRecord(String player, int winCount, int lossCount) {
+        super.setRecord(player, winCount, lossCount);
+        pending.add(new Op('S', validName(player), null, Math.max(0, winCount), Math.max(0, lossCount)));
+    }
+
+    @Override
+    public synchronized void removePlayer(String player) {
+        super.removePlayer(player);
+        pending.add(new Op('D', validName(player), null, 0, 0));
+    }
+
+    @Override
+    public synchronized void renamePlayer(String oldName, String newName) {
+        super.renamePlayer(oldName, newName);
+        String o = validName(oldName), n = validName(newName);
+        if (!o.equals(n)) pending.add(new Op('R', o, n, 0, 0));
+    }
+
+    /* ---------------------
+       Save / Load (IO)
+       --------------------- */
+
+    /**
+     * Merge local changes into the file and adopt the merged state, which includes
+     * results saved by other processes since the last load.
+     */
+    @Override
+    public boolean save() {
+        long start = System.nanoTime();
+        PerfEvents.ScoreboardSave event = new PerfEvents.ScoreboardSave();
+        event.begin();
+        synchronized (saveLock) {
+            List<Op> batch;
+            synchronized (this) {
+                batch = new ArrayList<>(pending);
+            }
+            if (batch.isEmpty()) {
+                load(); // nothing to merge; just pick up other processes' results
+                return true;
+            }
+            try {
+                Scoreboard merged = null;
+                int attempt = 0;
+                while (merged == null && attempt < OPTIMISTIC_ATTEMPTS) {
+                    attempt++;
+                    merged = tryMerge(batch, tempFile, false);
+                }
+                if (merged == null) {
+                    attempt++;
+                    merged = tryMerge(batch, tempFile, true);
+                }
+                lastSaveAttempts = attempt;
+
+                synchronized (this) {
+                    // adopt the merged state, then re-apply changes made while we were saving
+                    pending.subList(0, batch.size()).clear();
+                    replaceRecords(merged.copyRecords());
+                    for (Op op : pending) op.applyTo(this);
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to save shared scoreboard: " + e.getMessage());
+                e.printStackTrace();
+                if (tempFile.exists()) tempFile.delete();
+                return false;
+            }
+            PerfMetrics.saved(event, start, file(), "shared", getPlayerCount());
+            return true;
+        }
+    }
+
+    /**
+     * Read the file, replay {@code batch} and write the result to {@code temp}, then swap it
+     * in under the file lock. Returns the merged state, or null if another process replaced
+     * the file first. With {@code pessimistic} the whole merge runs under the lock.
+     */
+    private Scoreboard tryMerge(List<Op> batch, File temp, boolean pessimistic) throws IOException {
+        if (pessimistic) {
+            synchronized (JVM_LOCK) {
+                try (FileChannel ch = openLockFile()) {
+                    ch.lock(); // released when the channel closes
+                    long start = System.nanoTime();
+                    Scoreboard merged = merge(batch, temp);
+                    replaceFile(temp, file());
+                    lastSaveLockNanos = System.nanoTime() - start;
+                    return merged;
+                }
+            }
+        }
+
+        Version seen = version();
+        Scoreboard merged = merge(batch, temp);
+        synchronized (JVM_LOCK) {
+            try (FileChannel ch = openLockFile()) {
+                ch.lock(); // released when the channel closes
+                long start = System.nanoTime();
+                boolean unchanged = version().equals(seen);
+                if (unchanged) replaceFile(temp, file());
+                lastSaveLockNanos = System.nanoTime() - start;
+                if (unchanged) return merged;
+            }
+        }
+        temp.delete();
+        return null;
+    }
+
+    private Scoreboard merge(List<Op> batch, File temp) throws IOException {
+        Scoreboard merged = new Scoreboard(file());
+        for (Op op : batch) op.applyTo(merged);
+        writeSnapshot(temp, merged.copyRecords(), -1);
+        return merged;
+    }
+
+    private FileChannel openLockFile() throws IOException {
+        return FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private Version version() throws IOException {
+        try {
+            BasicFileAttributes a = Files.readAttributes(file().toPath(), BasicFileAttributes.class);
+            return new Version(a.fileKey(), a.lastModifiedTime(), a.size());
+        } catch (NoSuchFileException e) {
+            return Version.ABSENT;
+        }
+    }
+
+    /**
+     * Re-read the file and keep local changes that have not been saved yet.
+     */
+    @Override
+    public synchronized void load() {
+        super.load();
+        for (Op op : pending) op.applyTo(this);
+    }
+
+    /* ---------------------
+       Diagnostics
+       --------------------- */
+
+    /** Time the last save held the cross-process lock. */
+    public long getLastSaveLockNanos() { return lastSaveLockNanos; }
+
+    /** Merge attempts the last save needed (1 unless it raced with other processes). */
+    public int getLastSaveAttempts() { return lastSaveAttempts; }
+
+    /** Changes not yet merged into the file. */
+    public synchronized int getPendingChanges() { return pending.size(); }
+}
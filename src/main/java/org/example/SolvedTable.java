@@ -0,0 +1,207 @@
+package org.example;
+
+/**
+ * Precomputed solution of classic 3x3 Tic-Tac-Toe.
+ * Every reachable position is reduced to its canonical form under the 8 board symmetries
+ * and encoded in base 3 (cell i contributes 3^i for X, 2 * 3^i for O), so the whole
+ * table fits in one byte per code. Looking up a move is a fixed amount of work; no
+ * search happens at play time.
+ * Entry layout: 0 = not a reachable, undecided position; otherwise
+ * bits 0-3 hold (best move + 1) in canonical coordinates and bits 4-5 the outcome.
+ */
+public final class SolvedTable {
+
+    public static final int LOSS = 0;
+    public static final int DRAW = 1;
+    public static final int WIN = 2;
+
+    private static final int CODES = 19683; // 3^9
+
+    /** Base-3 weight of each 9-bit mask: sum of 3^i over set bits. */
+    private static final short[] TERN = new short[1 << BitBoard.CELLS];
+
+    /** SYM[s][mask]: mask after applying symmetry s. */
+    private static final short[][] SYM = new short[8][1 << BitBoard.CELLS];
+
+    /** INV[s][cell]: the original cell that symmetry s moves onto {@code cell}. */
+    private static final byte[][] INV = new byte[8][BitBoard.CELLS];
+
+    static {
+        initHelpers();
+    }
+
+    // solved once, when the class is first used
+    private static final SolvedTable INSTANCE = new SolvedTable();
+
+    private final byte[] entries = new byte[CODES];
+    private int positions;
+    private final long buildNanos;
+
+    private SolvedTable() {
+        long start = System.nanoTime();
+        solve(0, 0, new byte[CODES]);
+        buildNanos = System.nanoTime() - start;
+    }
+
+    public static SolvedTable get() { return INSTANCE; }
+
+    /* ---------------------
+       Lookup
+       --------------------- */
+
+    /**
+     * Best move for the side to move, given X and O masks (bit r * 3 + c), or -1 if the
+     * position is finished or not reachable in a legal game.
+     */
+    public int bestMove(int xMask, int oMask) {
+        int sym = canonicalSymmetry(xMask, oMask);
+        int entry = entries[code(SYM[sym][xMask], SYM[sym][oMask])];
+        if (entry == 0) return -1;
+        return INV[sym][(entry & 0x0F) - 1];
+    }
+
+    /**
+     * Game-theoretic outcome for the side to move ({@link #WIN}, {@link #DRAW}, {@link #LOSS}),
+     * or -1 if the position is finished or unreachable.
+     */
+    public int outcome(int xMask, int oMask) {
+        int sym = canonicalSymmetry(xMask, oMask);
+        int entry = entries[code(SYM[sym][xMask], SYM[sym][oMask])];
+        return entry == 0 ? -1 : (entry >> 4) & 0x03;
+    }
+
+    /* ---------------------
+       Measurements
+       --------------------- */
+
+    /** Number of canonical, unfinished positions stored. */
+    public int positionCount() { return positions; }
+
+    /** Time spent solving the game, in nanoseconds. */
+    public long buildTimeNanos() { return buildNanos; }
+
+    /** Bytes held by the table and its symmetry/encoding helpers. */
+    public static long memoryBytes() {
+        return CODES                                   // entries
+                + 2L * TERN.length                     // base-3 weights
+                + 2L * SYM.length * SYM[0].length      // symmetry maps
+                + (long) INV.length * INV[0].length;   // inverse cell maps
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SolvedTable[positions=%d, build=%.2f ms, memory=%d bytes]",
+                positions, buildNanos / 1e6, memoryBytes());
+    }
+
+    public static void main(String[] args) {
+        System.out.println(get());
+    }
+
+    /* ---------------------
+       Construction
+       --------------------- */
+
+    /**
+     * Negamax over canonical positions. Returns the score for the side to move:
+     * positive = win (larger is faster), 0 = draw, negative = loss (smaller is sooner).
+     * Scores are memoised in {@code scores} as score + 16 so that 0 means "unsolved".
+     */
+    private int solve(int x, int o, byte[] scores) {
+        int sym = canonicalSymmetry(x, o);
+        int cx = SYM[sym][x], co = SYM[sym][o];
+        int code = code(cx, co);
+        if (scores[code] != 0) return scores[code] - 16;
+
+        int occupied = cx | co;
+        int empties = BitBoard.CELLS - Integer.bitCount(occupied);
+        boolean xToMove = (empties & 1) == 1;
+        int previous = xToMove ? co : cx;
+
+        int score;
+        if (BitBoard.winningLineOf(previous) >= 0) {
+            score = -(empties + 1);             // the player who just moved has won
+        } else if (empties == 0) {
+            score = 0;
+        } else {
+            score = Integer.MIN_VALUE;
+            int best = -1;
+            for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+                int bit = 1 << cell;
+                if ((occupied & bit) != 0) continue;
+                int s = xToMove ? -solve(cx | bit, co, scores) : -solve(cx, co | bit, scores);
+                if (s > score) {
+                    score = s;
+                    best = cell;
+                }
+            }
+            int outcome = score > 0 ? WIN : score == 0 ? DRAW : LOSS;
+            entries[code] = (byte) ((best + 1) | (outcome << 4));
+            positions++;
+        }
+        scores[code] = (byte) (score + 16);
+        return score;
+    }
+
+    private static void initHelpers() {
+        int[] pow3 = new int[BitBoard.CELLS];
+        pow3[0] = 1;
+        for (int i = 1; i < pow3.length; i++) pow3[i] = pow3[i - 1] * 3;
+
+        // cell permutations: identity, three rotations, four reflections
+        int[][] perms = new int[8][BitBoard.CELLS];
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++) {
+                int cell = BitBoard.cell(r, c);
+                perms[0][cell] = BitBoard.cell(r, c);
+                perms[1][cell] = BitBoard.cell(c, 2 - r);
+                perms[2][cell] = BitBoard.cell(2 - r, 2 - c);
+                perms[3][cell] = BitBoard.cell(2 - c, r);
+                perms[4][cell] = BitBoard.cell(r, 2 - c);
+                perms[5][cell] = BitBoard.cell(2 - r, c);
+                perms[6][cell] = BitBoard.cell(c, r);
+                perms[7][cell] = BitBoard.cell(2 - c, 2 - r);
+            }
+        }
+
+        for (int mask = 0; mask < TERN.length; mask++) {
+            int t = 0;
+            for (int cell = 0; cell < BitBoard.CELLS; cell++)
+                if ((mask & (1 << cell)) != 0) t += pow3[cell];
+            TERN[mask] = (short) t;
+
+            for (int s = 0; s < 8; s++) {
+                int m = 0;
+                for (int cell = 0; cell < BitBoard.CELLS; cell++)
+                    if ((mask & (1 << cell)) != 0) m |= 1 << perms[s][cell];
+                SYM[s][mask] = (short) m;
+            }
+        }
+
+        for (int s = 0; s < 8; s++)
+            for (int cell = 0; cell < BitBoard.CELLS; cell++)
+                INV[s][perms[s][cell]] = (byte) cell;
+    }
+
+    /* ---------------------
+       Encoding helpers
+       --------------------- */
+
+    private static int code(int x, int o) { return TERN[x] + 2 * TERN[o]; }
+
+    /**
+     * Symmetry that maps the position onto its smallest base-3 code.
+     */
+    private static int canonicalSymmetry(int x, int o) {
+        int bestSym = 0;
+        int bestCode = Integer.MAX_VALUE;
+        for (int s = 0; s < 8; s++) {
+            int c = code(SYM[s][x], SYM[s][o]);
+            if (c < bestCode) {
+                bestCode = c;
+                bestSym = s;
+            }
+        }
+        return bestSym;
+    }
+}
@@ -1,9 +1,17 @@
 package org.example;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * GUI Tic-Tac-Toe game window.
@@ -16,19 +24,26 @@ import java.awt.event.KeyEvent;
 public class TicTacToeGame extends JFrame {
 
     // UI / theme constants
-    private static final Font CELL_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 72);
     private static final Font SCORE_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 16);
-    private static final Color CELL_BG = Color.WHITE;
-    private static final Color CELL_FG = new Color(10, 95, 160);
-    private static final Color WIN_BG = new Color(144, 238, 144); // light green
-    private static final Color PANEL_BG = new Color(230, 230, 230);
+    private static final Color PANEL_BG = BoardView.PANEL_BG;
+    private static final long SAVE_DELAY_MS = 250;   // coalescing window for scoreboard writes
 
     private final Board board;               // game model
-    private final JButton[][] buttons;       // UI cells
+    private final BoardView boardView;       // painted board, one component for all cells
+    private final int size;                  // cells per row/column
     private boolean xTurn = true;            // turn tracker: true => X, false => O
     private String player1;
     private String player2;
-    private final Scoreboard scoreboard;     // persistent scoreboard
+    private final CompletableFuture<? extends Scoreboard> scoreboardLoad; // may still be reading the file
+    private Scoreboard scoreboard;           // persistent scoreboard; set by scoreboard() once loaded
+    private ScoreboardWriter writer;         // saves the scoreboard off the EDT; created with it
+    private final GameLog gameLog;           // move sequences of finished games
+    private final CompletableFuture<Ratings> ratingsLoad; // reads ratings.txt off the EDT
+    private Ratings ratings;                 // Glicko ratings, saved on exit; set by ratings() once loaded
+    private final MoveHistory history;       // positions this round, for undo/redo and the game log
+    private final ComputerPlayer computer;   // plays O (player 2) when non-null
+    private boolean computerThinking;        // a background search is running
+    private int round;                       // bumped on reset so stale searches are ignored
 
     private final JLabel player1ScoreLabel = new JLabel();
     private final JLabel player2ScoreLabel = new JLabel();
@@ -44,15 +59,46 @@ public class TicTacToeGame extends JFrame {
      * Preferred constructor: pass an existing Scoreboard to avoid reloading multiple times.
      */
     public TicTacToeGame(String player1, String player2, Scoreboard scoreboard) {
+        this(player1, player2, scoreboard, new Board());
+    }
+
+    /**
+     * Play on a custom board (e.g. 15x15 with five in a row).
+     */
+    public TicTacToeGame(String player1, String player2, Scoreboard scoreboard, Board board) {
+        this(player1, player2, scoreboard, board, null);
+    }
+
+    /**
+     * Single-player constructor: the computer plays O as player 2.
+     */
+    public TicTacToeGame(String player1, String player2, Scoreboard scoreboard, Board board,
+                         ComputerPlayer computer) {
+        this(player1, player2, CompletableFuture.completedFuture(scoreboard), board, computer);
+    }
+
+    /**
+     * Start with a scoreboard that is still loading in the background: the window opens at once,
+     * the score labels fill in when the load completes, and the game waits for it only when it
+     * first needs the scoreboard (a finished round, a rename, a scoreboard dialog).
+     */
+    public TicTacToeGame(String player1, String player2, CompletableFuture<? extends Scoreboard> scoreboard,
+                         Board board, ComputerPlayer computer) {
         super("Tic-Tac-Toe");
         this.player1 = sanitizeName(player1, "Player1");
         this.player2 = sanitizeName(player2, "Player2");
-        this.board = new Board();
-        this.scoreboard = scoreboard;
-        this.buttons = new JButton[3][3];
+        this.board = board;
+        this.scoreboardLoad = scoreboard;
+        this.gameLog = new GameLog(new File(GameLog.FILE));
+        this.ratingsLoad = Main.loadAsync(Ratings::new, "ratings-load");
+        this.computer = computer;
+        this.size = board.getSize();
+        this.boardView = new BoardView(size);
+        this.history = new MoveHistory(size, board.getWinLength());
 
         initUi();
         updateScoreboardLabels();
+        scoreboardLoad.whenComplete((sb, e) -> SwingUtilities.invokeLater(this::updateScoreboardLabels));
         pack();
         setLocationRelativeTo(null);
     }
@@ -63,6 +109,11 @@ public class TicTacToeGame extends JFrame {
 
     private void initUi() {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        // flush pending scoreboard, game log and rating writes on Quit/Exit (windowClosed) and on the close button (windowClosing)
+        addWindowListener(new WindowAdapter() {
+            @Override public void windowClosing(WindowEvent e) { shutdown(); }
+            @Override public void windowClosed(WindowEvent e) { shutdown(); }
+        });
         setLayout(new BorderLayout(8, 8));
         getContentPane().setBackground(PANEL_BG);
 
@@ -71,6 +122,30 @@ public class TicTacToeGame extends JFrame {
         add(buildScorePanel(), BorderLayout.SOUTH);
     }
 
+    /**
+     * Flush everything to disk; safe to call more than once. With {@code -Dmetrics.dump=<file>}
+     * the performance metrics are written there too.
+     */
+    private void shutdown() {
+        if (writer != null) writer.close(); // nothing to save if the scoreboard was never used
+        try {
+            gameLog.close();
+        } catch (IOException e) {
+            System.err.println("Failed to write game log: " + e.getMessage());
+            e.printStackTrace();
+        }
+        if (ratings != null) ratings.save(); // unchanged if never used
+        String dump = System.getProperty("metrics.dump");
+        if (dump != null && !dump.isBlank()) {
+            try {
+                PerfMetrics.dump(new File(dump));
+            } catch (IOException e) {
+                System.err.println("Failed to write metrics: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
     private JMenuBar buildMenuBar() {
         JMenuBar bar = new JMenuBar();
         JMenu menu = new JMenu("Options");
@@ -82,33 +157,46 @@ public class TicTacToeGame extends JFrame {
         JMenuItem viewBoard = new JMenuItem("View Scoreboard");
         viewBoard.addActionListener(e -> showScoreboardDialog());
 
+        JMenuItem find = new JMenuItem("Find Player...");
+        find.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F, KeyEvent.CTRL_DOWN_MASK));
+        find.addActionListener(e -> showFindPlayerDialog());
+
+        JMenuItem replay = new JMenuItem("Replay Games...");
+        replay.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_R, KeyEvent.CTRL_DOWN_MASK));
+        replay.addActionListener(e -> showReplayDialog());
+
+        JMenuItem metrics = new JMenuItem("Performance Metrics...");
+        metrics.addActionListener(e -> showMetricsDialog());
+
         JMenuItem quit = new JMenuItem("Quit");
         quit.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Q, KeyEvent.CTRL_DOWN_MASK));
         quit.addActionListener(e -> dispose());
 
         menu.add(newMatch);
         menu.add(viewBoard);
+        menu.add(find);
+        menu.add(replay);
+        menu.add(metrics);
         menu.addSeparator();
         menu.add(quit);
         bar.add(menu);
+
+        JMenu edit = new JMenu("Edit");
+        JMenuItem undo = new JMenuItem("Undo Move");
+        undo.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, KeyEvent.CTRL_DOWN_MASK));
+        undo.addActionListener(e -> undoMove());
+        JMenuItem redo = new JMenuItem("Redo Move");
+        redo.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, KeyEvent.CTRL_DOWN_MASK));
+        redo.addActionListener(e -> redoMove());
+        edit.add(undo);
+        edit.add(redo);
+        bar.add(edit);
         return bar;
     }
 
-    private JPanel buildBoardPanel() {
-        JPanel panel = new JPanel(new GridLayout(3, 3, 6, 6));
-        panel.setBorder(BorderFactory.createEmptyBorder(12, 12, 12, 12));
-        panel.setBackground(PANEL_BG);
-
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                JButton btn = createCellButton();
-                final int r = i, c = j;
-                btn.addActionListener(e -> onCellClicked(r, c, btn));
-                buttons[i][j] = btn;
-                panel.add(btn);
-            }
-        }
-        return panel;
+    private BoardView buildBoardPanel() {
+        boardView.setCellListener(cell -> onCellClicked(cell / size, cell % size));
+        return boardView;
     }
 
     private JPanel buildScorePanel() {
@@ -127,98 +215,159 @@ public class TicTacToeGame extends JFrame {
         return panel;
     }
 
-    private JButton createCellButton() {
-        JButton b = new JButton("");
-        b.setFont(CELL_FONT);
-        b.setFocusPainted(false);
-        b.setBackground(CELL_BG);
-        b.setForeground(CELL_FG);
-        return b;
-    }
-
     /* ---------------------
        Game actions
        --------------------- */
 
-    private void onCellClicked(int row, int col, JButton clicked) {
-        if (!clicked.isEnabled() || !clicked.getText().isEmpty()) return;
+    private void onCellClicked(int row, int col) {
+        if (!boardView.isEnabled() || !board.isEmpty(board.cellIndex(row, col))) return;
+        if (computer != null && (!xTurn || computerThinking)) return; // computer's turn
 
-        String mark = xTurn ? "X" : "O";
-        clicked.setText(mark);
+        if (playMove(row, col) && computer != null) playComputerMove();
+    }
 
-        if (!boardPositionSetSafe(mark, row, col)) {
-            clicked.setText("");
-            return;
+    /**
+     * Ask the computer for a move on a background thread so the window stays responsive,
+     * then play it on the EDT through the same path as a click.
+     */
+    private void playComputerMove() {
+        computerThinking = true;
+        setTitle("Tic-Tac-Toe — computer is thinking...");
+        Board snapshot = board.copy();
+        int searchRound = round;
+
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return computer.chooseMove(snapshot);
+            }
+
+            @Override
+            protected void done() {
+                computerThinking = false;
+                setTitle(computer instanceof MctsPlayer mcts
+                        ? "Tic-Tac-Toe — " + mcts.getLastStats()
+                        : "Tic-Tac-Toe");
+                if (searchRound != round) return; // board was reset meanwhile
+                try {
+                    int cell = get();
+                    if (cell >= 0) playMove(cell / size, cell % size);
+                } catch (Exception e) {
+                    System.err.println("Computer move failed: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    private enum MoveResult { ILLEGAL, CONTINUE, WIN, DRAW }
+
+    /**
+     * Play a move and, if it ends the round, announce the result.
+     * Returns true if the game continues with the other player's turn.
+     */
+    private boolean playMove(int row, int col) {
+        long start = System.nanoTime();
+        PerfEvents.Move event = new PerfEvents.Move();
+        event.begin();
+        String winner = xTurn ? player1 : player2;
+        MoveResult result = applyMove(row, col);
+        PerfMetrics.moved(event, start, row, col, result.name());
+
+        switch (result) {
+            case WIN -> {
+                JOptionPane.showMessageDialog(this, winner + " wins!");
+                postRoundMenu();
+            }
+            case DRAW -> {
+                JOptionPane.showMessageDialog(this, "It's a draw!");
+                postRoundMenu();
+            }
+            default -> { }
         }
+        return result == MoveResult.CONTINUE;
+    }
+
+    /**
+     * Update the board, view, scoreboard, ratings and game log for one move (no dialogs).
+     */
+    private MoveResult applyMove(int row, int col) {
+        String mark = xTurn ? "X" : "O";
+        if (!boardPositionSetSafe(mark, row, col)) return MoveResult.ILLEGAL;
+
+        int cell = board.cellIndex(row, col);
+        history.play(cell);
+        boardView.setMark(cell, board.markAt(cell));
 
-        int[][] winLine = board.checkWinnerLine();
-        if (winLine != null) {
-            disableAllButtons();
-            highlightWinningLine(winLine);
+        if (board.hasWinner()) {
+            gameLog.append(GameRecord.of(board, player1, player2, history.current().moves()));
+            boardView.setEnabled(false);
+            boardView.highlightWinner(board);
 
             String winner = xTurn ? player1 : player2;
             String loser = xTurn ? player2 : player1;
 
-            scoreboard.addWin(winner);
-            scoreboard.addLoss(loser);
-            scoreboard.save();
+            scoreboard().addWin(winner);
+            scoreboard().addLoss(loser);
+            ratings().recordWin(winner, loser);
+            writer.requestSave();
             updateScoreboardLabels();
-
-            JOptionPane.showMessageDialog(this, winner + " wins!");
-            postRoundMenu();
-            return;
+            return MoveResult.WIN;
         }
 
         if (board.isFull()) {
-            disableAllButtons();
-            JOptionPane.showMessageDialog(this, "It's a draw!");
-            postRoundMenu();
-            return;
+            gameLog.append(GameRecord.of(board, player1, player2, history.current().moves()));
+            ratings().recordDraw(player1, player2);
+            boardView.setEnabled(false);
+            return MoveResult.DRAW;
         }
 
         xTurn = !xTurn;
+        return MoveResult.CONTINUE;
     }
 
     private boolean boardPositionSetSafe(String mark, int r, int c) {
-        if (r < 0 || r >= 3 || c < 0 || c >= 3) return false;
-        board.setCell(mark, new int[]{r, c});
+        if (r < 0 || r >= size || c < 0 || c >= size) return false;
+        long start = System.nanoTime();
+        PerfEvents.WinCheck event = new PerfEvents.WinCheck();
+        event.begin();
+        board.setCell(mark, r, c);
+        PerfMetrics.winChecked(event, start, board);
         return true;
     }
 
-    private void highlightWinningLine(int[][] line) {
-        if (line == null) return;
-        for (int[] pos : line) {
-            int r = pos[0], c = pos[1];
-            if (r >= 0 && r < 3 && c >= 0 && c < 3) {
-                buttons[r][c].setBackground(WIN_BG);
-            }
-        }
+    /**
+     * Take back the last move; against the computer, back to the human player's turn.
+     * Only while the round is in progress: a finished round is already on the scoreboard.
+     */
+    private void undoMove() {
+        if (!history.canUndo() || !boardView.isEnabled() || computerThinking) return;
+        undoOne();
+        if (computer != null && !xTurn && history.canUndo()) undoOne();
     }
 
-    private void disableAllButtons() {
-        for (JButton[] row : buttons)
-            for (JButton b : row)
-                b.setEnabled(false);
+    private void undoOne() {
+        int cell = history.undo();
+        board.clear(cell);
+        boardView.setMark(cell, Board.EMPTY);
+        xTurn = !xTurn;
     }
 
-    private void enableAllButtons() {
-        for (JButton[] row : buttons)
-            for (JButton b : row) {
-                b.setEnabled(true);
-                b.setBackground(CELL_BG);
-            }
+    /**
+     * Play the last undone move again, through the same path as a click
+     * (so the computer answers it as usual).
+     */
+    private void redoMove() {
+        int cell = history.peekRedo();
+        if (cell >= 0) onCellClicked(cell / size, cell % size);
     }
 
     private void resetBoard() {
         board.reset();
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                JButton b = buttons[i][j];
-                b.setText("");
-                b.setBackground(CELL_BG);
-                b.setEnabled(true);
-            }
-        }
+        history.reset();
+        round++;
+        boardView.clear();
+        boardView.setEnabled(true);
         xTurn = true;
     }
 
@@ -226,7 +375,32 @@ public class TicTacToeGame extends JFrame {
        Scoreboard & players
        --------------------- */
 
+    /**
+     * The loaded scoreboard, waiting for the background load on first use.
+     */
+    private Scoreboard scoreboard() {
+        if (scoreboard == null) {
+            scoreboard = scoreboardLoad.join();
+            writer = new ScoreboardWriter(scoreboard, SAVE_DELAY_MS);
+        }
+        return scoreboard;
+    }
+
+    /**
+     * The loaded ratings, waiting for the background load on first use.
+     */
+    private Ratings ratings() {
+        if (ratings == null) ratings = ratingsLoad.join();
+        return ratings;
+    }
+
     private void updateScoreboardLabels() {
+        if (!scoreboardLoad.isDone()) {
+            player1ScoreLabel.setText(player1 + "  — loading scores...");
+            player2ScoreLabel.setText(player2 + "  — loading scores...");
+            return;
+        }
+        Scoreboard scoreboard = scoreboard();
         player1ScoreLabel.setText(String.format("%s  — Wins: %d  Losses: %d",
                 player1, scoreboard.getWins(player1), scoreboard.getLosses(player1)));
         player2ScoreLabel.setText(String.format("%s  — Wins: %d  Losses: %d",
@@ -234,25 +408,32 @@ public class TicTacToeGame extends JFrame {
     }
 
     private void startNewMatchFlow() {
-        String p1 = (String) JOptionPane.showInputDialog(
-                this, "Player 1 nickname:", "Rename Player",
-                JOptionPane.QUESTION_MESSAGE, null, null, player1);
-
-        String p2 = (String) JOptionPane.showInputDialog(
-                this, "Player 2 nickname:", "Rename Player",
-                JOptionPane.QUESTION_MESSAGE, null, null, player2);
+        // both nicknames in one dialog, with suggestions from the scoreboard
+        PlayerNameField field1 = new PlayerNameField(scoreboard(), player1);
+        PlayerNameField field2 = new PlayerNameField(scoreboard(), player2);
+        JPanel names = new JPanel(new GridLayout(4, 1, 4, 4));
+        names.add(new JLabel("Player 1 nickname:"));
+        names.add(field1);
+        names.add(new JLabel("Player 2 nickname:"));
+        names.add(field2);
+        boolean ok = JOptionPane.showConfirmDialog(this, names, "Rename Player",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE) == JOptionPane.OK_OPTION;
+        String p1 = ok ? field1.getText() : null;
+        String p2 = ok ? field2.getText() : null;
 
         if (p1 != null && !p1.isBlank() && !p1.equals(player1)) {
-            scoreboard.renamePlayer(player1, p1);
+            scoreboard().renamePlayer(player1, p1);
+            ratings().renamePlayer(player1, p1);
             player1 = sanitizeName(p1, player1);
         }
         if (p2 != null && !p2.isBlank() && !p2.equals(player2)) {
-            scoreboard.renamePlayer(player2, p2);
+            scoreboard().renamePlayer(player2, p2);
+            ratings().renamePlayer(player2, p2);
             player2 = sanitizeName(p2, player2);
         }
 
         resetBoard();
-        scoreboard.save();
+        writer.requestSave();
         updateScoreboardLabels();
     }
 
@@ -293,22 +474,266 @@ public class TicTacToeGame extends JFrame {
         }
     }
 
+    private static final int FILTER_DELAY_MS = 200;  // wait for typing to pause before filtering
+
+    /**
+     * Leaderboard backed by the scoreboard itself: rows are read as they scroll into view,
+     * so the dialog opens instantly for any number of players.
+     */
     private void showScoreboardDialog() {
-        java.util.List<String> players = scoreboard.getTopPlayers();
-        String[] cols = {"Player", "Wins", "Losses"};
-        DefaultTableModel model = new DefaultTableModel(cols, 0) {
-            @Override public boolean isCellEditable(int row, int column) { return false; }
+        long start = System.nanoTime();
+        PerfEvents.DialogOpen event = new PerfEvents.DialogOpen();
+        event.begin();
+        ScoreboardTableModel model = new ScoreboardTableModel(scoreboard(), ratings());
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.getTableHeader().setToolTipText("Click # or Player to sort");
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override public void mouseClicked(MouseEvent e) {
+                model.sortByColumn(table.columnAtPoint(e.getPoint()));
+            }
+        });
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setPreferredSize(new Dimension(460, Math.min(400, 30 + model.getRowCount() * table.getRowHeight())));
+
+        JTextField filter = new JTextField();
+        Timer filterTimer = new Timer(FILTER_DELAY_MS, e -> model.setFilter(filter.getText()));
+        filterTimer.setRepeats(false);
+        filter.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { filterTimer.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { filterTimer.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { filterTimer.restart(); }
+        });
+
+        JLabel count = new JLabel();
+        Runnable updateCount = () -> count.setText(String.format("%,d of %,d players",
+                model.getRowCount(), scoreboard().getPlayerCount()));
+        model.addTableModelListener(e -> updateCount.run());
+        updateCount.run();
+
+        JPanel top = new JPanel(new BorderLayout(6, 6));
+        top.add(new JLabel("Name starts with:"), BorderLayout.WEST);
+        top.add(filter, BorderLayout.CENTER);
+        top.add(count, BorderLayout.EAST);
+
+        JPanel panel = new JPanel(new BorderLayout(6, 6));
+        panel.add(top, BorderLayout.NORTH);
+        panel.add(scroll, BorderLayout.CENTER);
+        JOptionPane pane = new JOptionPane(panel, JOptionPane.PLAIN_MESSAGE);
+        JDialog dialog = pane.createDialog(this, "Scoreboard");
+        openTimed(dialog, "scoreboard", start, event);
+        dialog.dispose();
+        filterTimer.stop();
+    }
+
+    /**
+     * Look up one player's rank and record by name, with autocomplete.
+     */
+    private void showFindPlayerDialog() {
+        long start = System.nanoTime();
+        PerfEvents.DialogOpen event = new PerfEvents.DialogOpen();
+        event.begin();
+        PlayerNameField field = new PlayerNameField(scoreboard(), "");
+        JPanel panel = new JPanel(new BorderLayout(4, 4));
+        panel.add(new JLabel("Player name:"), BorderLayout.NORTH);
+        panel.add(field, BorderLayout.CENTER);
+        JOptionPane pane = new JOptionPane(panel, JOptionPane.QUESTION_MESSAGE, JOptionPane.OK_CANCEL_OPTION);
+        JDialog dialog = pane.createDialog(this, "Find Player");
+        openTimed(dialog, "find player", start, event);
+        dialog.dispose();
+        if (!Integer.valueOf(JOptionPane.OK_OPTION).equals(pane.getValue()) || field.getText().isBlank()) return;
+
+        Scoreboard.Standing s = scoreboard().getStanding(field.getText());
+        String message = s == null
+                ? "No player named \"" + field.getText().trim() + "\"."
+                : String.format("%s is ranked #%,d of %,d%nWins: %d  Losses: %d  Rating: %d",
+                        s.player(), s.rank(), scoreboard().getPlayerCount(), s.wins(), s.losses(),
+                        Math.round(ratings().getRating(s.player())));
+        JOptionPane.showMessageDialog(this, message, "Find Player", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /* ---------------------
+       Replay viewer
+       --------------------- */
+
+    private static final int REPLAY_GAMES = 200;  // most recent games offered for replay
+
+    private boolean replayLoading;                // a background read of the game log is running
+
+    /**
+     * Read the most recent games off the EDT (the log may hold millions), then open the viewer.
+     */
+    private void showReplayDialog() {
+        if (replayLoading) return;
+        replayLoading = true;
+        long start = System.nanoTime();
+        PerfEvents.DialogOpen event = new PerfEvents.DialogOpen();
+        event.begin();
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        new SwingWorker<java.util.List<GameRecord>, Void>() {
+            @Override
+            protected java.util.List<GameRecord> doInBackground() throws IOException {
+                gameLog.flush();
+                return GameLog.readLast(gameLog.file(), REPLAY_GAMES);
+            }
+
+            @Override
+            protected void done() {
+                replayLoading = false;
+                setCursor(Cursor.getDefaultCursor());
+                java.util.List<GameRecord> games;
+                try {
+                    games = get();
+                } catch (Exception e) {
+                    Throwable cause = e instanceof java.util.concurrent.ExecutionException ? e.getCause() : e;
+                    System.err.println("Failed to read game log: " + cause.getMessage());
+                    cause.printStackTrace();
+                    JOptionPane.showMessageDialog(TicTacToeGame.this, "Could not read " + gameLog.file(), "Replay",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                if (games.isEmpty()) {
+                    JOptionPane.showMessageDialog(TicTacToeGame.this, "No recorded games yet.", "Replay",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                showReplayDialog(games, start, event);
+            }
+        }.execute();
+    }
+
+    /**
+     * Step through recently recorded games move by move.
+     */
+    private void showReplayDialog(java.util.List<GameRecord> games, long start, PerfEvents.DialogOpen event) {
+        java.util.Collections.reverse(games); // newest first
+
+        JDialog dialog = new JDialog(this, "Replay", true);
+        JList<GameRecord> list = new JList<>(games.toArray(new GameRecord[0]));
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        JPanel grid = new JPanel(new BorderLayout());  // holds a BoardView for the selected game's size
+        BoardView[] view = {null};
+        JLabel status = new JLabel(" ", SwingConstants.CENTER);
+        int[] step = {0};
+
+        Runnable render = () -> {
+            GameRecord g = list.getSelectedValue();
+            if (g == null) return;
+            if (view[0] == null || view[0].getBoardSize() != g.size()) {
+                view[0] = new BoardView(g.size());
+                view[0].setEnabled(false);
+                grid.removeAll();
+                grid.add(view[0]);
+                grid.revalidate();
+            }
+            view[0].showBoard(g.boardAfter(step[0]));
+            view[0].setLastMove(step[0] > 0 ? g.moves()[step[0] - 1] : -1);
+            status.setText("Move " + step[0] + " of " + g.moves().length);
         };
 
-        for (String p : players) {
-            model.addRow(new Object[]{p, scoreboard.getWins(p), scoreboard.getLosses(p)});
+        list.addListSelectionListener(e -> {
+            if (e.getValueIsAdjusting()) return;
+            step[0] = 0;
+            render.run();
+        });
+
+        JPanel controls = new JPanel();
+        String[] labels = {"|<", "<", ">", ">|"};
+        for (int i = 0; i < labels.length; i++) {
+            final int action = i;
+            JButton btn = new JButton(labels[i]);
+            btn.addActionListener(e -> {
+                GameRecord g = list.getSelectedValue();
+                if (g == null) return;
+                int n = g.moves().length;
+                step[0] = switch (action) {
+                    case 0 -> 0;
+                    case 1 -> Math.max(0, step[0] - 1);
+                    case 2 -> Math.min(n, step[0] + 1);
+                    default -> n;
+                };
+                render.run();
+            });
+            controls.add(btn);
         }
 
-        JTable table = new JTable(model);
-        table.setFillsViewportHeight(true);
-        JScrollPane scroll = new JScrollPane(table);
-        scroll.setPreferredSize(new Dimension(320, Math.min(400, 30 + players.size() * 24)));
+        JPanel viewer = new JPanel(new BorderLayout(4, 4));
+        grid.setPreferredSize(new Dimension(320, 320));
+        viewer.add(grid, BorderLayout.CENTER);
+        viewer.add(status, BorderLayout.NORTH);
+        viewer.add(controls, BorderLayout.SOUTH);
+
+        JScrollPane scroll = new JScrollPane(list);
+        scroll.setPreferredSize(new Dimension(420, 360));
+        dialog.setLayout(new BorderLayout(8, 8));
+        dialog.add(scroll, BorderLayout.WEST);
+        dialog.add(viewer, BorderLayout.CENTER);
+        list.setSelectedIndex(0);
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        openTimed(dialog, "replay", start, event);
+    }
+
+    /* ---------------------
+       Performance metrics
+       --------------------- */
+
+    /**
+     * Show a modal dialog, recording the time from {@code start} (the menu action) until its
+     * window is open.
+     */
+    private static void openTimed(Window dialog, String name, long start, PerfEvents.DialogOpen event) {
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override public void windowOpened(WindowEvent e) { PerfMetrics.dialogOpened(event, start, name); }
+        });
+        dialog.setVisible(true);
+    }
 
-        JOptionPane.showMessageDialog(this, scroll, "Scoreboard", JOptionPane.PLAIN_MESSAGE);
+    /**
+     * Latency percentiles and counters collected since start-up (or the last reset).
+     */
+    private void showMetricsDialog() {
+        JTextArea text = new JTextArea(16, 84);
+        text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        text.setEditable(false);
+        Runnable refresh = () -> {
+            text.setText(PerfMetrics.report() + String.format("%nscoreboard writer  %s%n",
+                    writer == null ? "not started" : writer.getMetrics()));
+            text.setCaretPosition(0);
+        };
+        refresh.run();
+
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e -> refresh.run());
+        JButton resetButton = new JButton("Reset");
+        resetButton.addActionListener(e -> {
+            PerfMetrics.reset();
+            refresh.run();
+        });
+        JButton dumpButton = new JButton("Dump to File...");
+        dumpButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setSelectedFile(new File("metrics.txt"));
+            if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+            try {
+                PerfMetrics.dump(chooser.getSelectedFile());
+            } catch (IOException ex) {
+                System.err.println("Failed to write metrics: " + ex.getMessage());
+                ex.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Could not write " + chooser.getSelectedFile(),
+                        "Performance Metrics", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttons.add(refreshButton);
+        buttons.add(resetButton);
+        buttons.add(dumpButton);
+        JPanel panel = new JPanel(new BorderLayout(6, 6));
+        panel.add(new JScrollPane(text), BorderLayout.CENTER);
+        panel.add(buttons, BorderLayout.SOUTH);
+        JOptionPane.showMessageDialog(this, panel, "Performance Metrics", JOptionPane.PLAIN_MESSAGE);
     }
 }
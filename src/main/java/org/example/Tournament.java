@@ -0,0 +1,253 @@
+package org.example;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless round-robin between bot strategies, feeding a {@link Scoreboard}.
+ * Every pairing plays the same number of games with sides swapped every other game. Each
+ * pairing is cut into chunks of games that run on a work-stealing pool; a chunk owns its board,
+ * players and random generator and plays them with {@link SelfPlaySimulator}'s game loop, so
+ * workers share nothing.
+ * Only the calling thread touches the scoreboard: finished chunks are tallied per entrant and
+ * applied with {@link Scoreboard#addResults} every few chunks, then saved once at the end.
+ * Responsibilities:
+ *  - schedule all pairings across the pool
+ *  - batch scoreboard updates, single save
+ *  - progress/throughput report and final standings
+ */
+public class Tournament {
+
+    /**
+     * A named strategy taking part.
+     */
+    public record Entrant(String name, SelfPlaySimulator.StrategyFactory factory) { }
+
+    /**
+     * Outcome of a run: games played, scoreboard batches applied and wall-clock time.
+     */
+    public record Summary(long games, long moves, int batches, long elapsedNanos) {
+        public double gamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d games (%.2f moves/game) in %.2f s, %,.0f games/s, %d scoreboard batches, 1 save",
+                    games, games == 0 ? 0 : (double) moves / games, elapsedNanos / 1e9, gamesPerSecond(), batches);
+        }
+    }
+
+    /** Results of one chunk of a pairing, from entrant a's point of view. */
+    private record Chunk(int a, int b, long winsA, long winsB, long draws, long moves) { }
+
+    private static final int CHUNK_GAMES = 500;          // games per task; small enough to balance the pool
+    private static final int FLUSH_CHUNKS = 64;          // finished chunks per scoreboard batch
+    private static final long PROGRESS_MILLIS = 1000;
+
+    private final int size;
+    private final int winLength;
+    private final ForkJoinPool pool;
+    private final Scoreboard scoreboard;
+    private final List<Entrant> entrants = new ArrayList<>();
+    private boolean verbose = true;
+
+    private long[] draws;   // per entrant in the last run; the scoreboard has no draws
+
+    public Tournament(int size, int winLength, Scoreboard scoreboard) {
+        this(size, winLength, scoreboard, new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+    }
+
+    public Tournament(int size, int winLength, Scoreboard scoreboard, ForkJoinPool pool) {
+        new Board(size, winLength); // validates the dimensions
+        this.size = size;
+        this.winLength = winLength;
+        this.scoreboard = scoreboard;
+        this.pool = pool;
+    }
+
+    public void addEntrant(String name, SelfPlaySimulator.StrategyFactory factory) {
+        for (Entrant e : entrants)
+            if (e.name().equalsIgnoreCase(name)) throw new IllegalArgumentException("Duplicate entrant: " + name);
+        entrants.add(new Entrant(name, factory));
+    }
+
+    /**
+     * Print progress while running (on by default).
+     */
+    public void setVerbose(boolean verbose) { this.verbose = verbose; }
+
+    /* ---------------------
+       Running
+       --------------------- */
+
+    /**
+     * Play {@code gamesPerPairing} games between every two entrants and save the scoreboard once.
+     */
+    public Summary run(long gamesPerPairing, long seed) {
+        int n = entrants.size();
+        if (n < 2) throw new IllegalStateException("A tournament needs at least two entrants");
+        if (gamesPerPairing < 1) throw new IllegalArgumentException("Games per pairing must be positive");
+        draws = new long[n];
+        long start = System.nanoTime();
+
+        // random generators are split here, on the calling thread, one per chunk
+        SplittableRandom root = new SplittableRandom(seed);
+        ExecutorCompletionService<Chunk> done = new ExecutorCompletionService<>(pool);
+        int chunks = 0;
+        long totalGames = gamesPerPairing * n * (n - 1) / 2;
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                for (long first = 0; first < gamesPerPairing; first += CHUNK_GAMES) {
+                    int ea = a, eb = b;
+                    long firstGame = first, count = Math.min(CHUNK_GAMES, gamesPerPairing - first);
+                    SplittableRandom rng = root.split();
+                    done.submit(() -> playChunk(ea, eb, firstGame, count, rng));
+                    chunks++;
+                }
+            }
+        }
+        if (verbose) {
+            System.out.printf("%d entrants, %d pairings x %,d games = %,d games in %d chunks on %d workers%n",
+                    n, n * (n - 1) / 2, gamesPerPairing, totalGames, chunks, pool.getParallelism());
+        }
+
+        // collect on this thread: tally pending results, apply them to the scoreboard in batches
+        int[] pendingWins = new int[n], pendingLosses = new int[n];
+        int pendingChunks = 0, batches = 0;
+        long games = 0, moves = 0, lastReport = start;
+        for (int received = 0; received < chunks; ) {
+            Future<Chunk> f = poll(done, PROGRESS_MILLIS);
+            if (f != null) {
+                Chunk c = join(f);
+                received++;
+                pendingChunks++;
+                games += c.winsA + c.winsB + c.draws;
+                moves += c.moves;
+                pendingWins[c.a] += (int) c.winsA;
+                pendingLosses[c.a] += (int) c.winsB;
+                pendingWins[c.b] += (int) c.winsB;
+                pendingLosses[c.b] += (int) c.winsA;
+                draws[c.a] += c.draws;
+                draws[c.b] += c.draws;
+            }
+            if (pendingChunks >= FLUSH_CHUNKS || (received == chunks && pendingChunks > 0)) {
+                flush(pendingWins, pendingLosses);
+                pendingChunks = 0;
+                batches++;
+            }
+            long now = System.nanoTime();
+            if (verbose && (now - lastReport >= PROGRESS_MILLIS * 1_000_000L || received == chunks)) {
+                lastReport = now;
+                double seconds = (now - start) / 1e9;
+                System.out.printf("[%6.1f s] %,d / %,d games (%.1f%%), %,.0f games/s, %d batches applied%n",
+                        seconds, games, totalGames, 100.0 * games / totalGames, games / seconds, batches);
+            }
+        }
+
+        scoreboard.save();
+        return new Summary(games, moves, batches, System.nanoTime() - start);
+    }
+
+    private Chunk playChunk(int a, int b, long firstGame, long count, SplittableRandom rng) {
+        ComputerPlayer playerA = entrants.get(a).factory().create(rng.split());
+        ComputerPlayer playerB = entrants.get(b).factory().create(rng.split());
+        SelfPlaySimulator.Result r = SelfPlaySimulator.playGames(playerA, playerB,
+                new Board(size, winLength), firstGame, count, null);
+        return new Chunk(a, b, r.winsA(), r.winsB(), r.draws(), r.moves());
+    }
+
+    /**
+     * One scoreboard update per entrant with pending results.
+     */
+    private void flush(int[] pendingWins, int[] pendingLosses) {
+        for (int i = 0; i < pendingWins.length; i++) {
+            if (pendingWins[i] == 0 && pendingLosses[i] == 0) continue;
+            scoreboard.addResults(entrants.get(i).name(), pendingWins[i], pendingLosses[i]);
+            pendingWins[i] = 0;
+            pendingLosses[i] = 0;
+        }
+    }
+
+    private static Future<Chunk> poll(ExecutorCompletionService<Chunk> done, long millis) {
+        try {
+            return done.poll(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament interrupted", e);
+        }
+    }
+
+    private static Chunk join(Future<Chunk> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament game failed", e.getCause());
+        }
+    }
+
+    /* ---------------------
+       Report
+       --------------------- */
+
+    /**
+     * Standings in scoreboard order ({@link Scoreboard#getTopPlayers()}), with this run's
+     * draws alongside the stored wins and losses.
+     */
+    public String standings() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%4s  %-16s %10s %10s %12s%n", "#", "Entrant", "Wins", "Losses", "Draws (run)"));
+        int rank = 0;
+        for (String player : scoreboard.getTopPlayers()) {
+            rank++;
+            int i = indexOf(player);
+            sb.append(String.format("%4d  %-16s %,10d %,10d %12s%n", rank, player,
+                    scoreboard.getWins(player), scoreboard.getLosses(player),
+                    i < 0 || draws == null ? "-" : String.format("%,d", draws[i])));
+        }
+        return sb.toString();
+    }
+
+    private int indexOf(String player) {
+        for (int i = 0; i < entrants.size(); i++)
+            if (entrants.get(i).name().equalsIgnoreCase(player)) return i;
+        return -1;
+    }
+
+    /**
+     * Usage: Tournament [strategies] [gamesPerPairing] [size] [winLength] [seed] [scoreboardFile]
+     * Strategies are comma-separated names accepted by {@link SelfPlaySimulator#strategy}.
+     */
+    public static void main(String[] args) {
+        String[] names = (args.length > 0 ? args[0] : "random,heuristic,perfect").split(",");
+        long gamesPerPairing = args.length > 1 ? Long.parseLong(args[1]) : 10_000L;
+        int size = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        int winLength = args.length > 3 ? Integer.parseInt(args[3]) : size;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        File file = new File(args.length > 5 ? args[5] : "tournament.txt");
+
+        Scoreboard scoreboard = new Scoreboard(file);
+        Tournament tournament = new Tournament(size, winLength, scoreboard);
+        for (String name : names) {
+            String n = name.trim();
+            if (n.equalsIgnoreCase("perfect") && !PerfectPlayer.supports(new Board(size, winLength))) {
+                System.err.println("Skipping perfect: it only plays 3x3 boards");
+                continue;
+            }
+            tournament.addEntrant(n, SelfPlaySimulator.strategy(n));
+        }
+        System.out.printf("Round robin on %dx%d, %d in a row, results in %s%n", size, size, winLength, file);
+        System.out.println(tournament.run(gamesPerPairing, seed));
+        System.out.print(tournament.standings());
+    }
+}
@@ -0,0 +1,121 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConcurrentScoreboardTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void saveAndLoadRoundTrip() {
+        File file = new File(dir, "scores.txt");
+        ConcurrentScoreboard scoreboard = new ConcurrentScoreboard(file);
+        scoreboard.addWin("alice");
+        scoreboard.addWin("alice");
+        scoreboard.addLoss("bob");
+        scoreboard.addResults("carol", 5, 3);
+        scoreboard.setRecord("dave", 1, 1);
+        scoreboard.removePlayer("dave");
+        assertTrue(scoreboard.save());
+
+        ConcurrentScoreboard back = new ConcurrentScoreboard(file);
+        assertEquals(3, back.getPlayerCount());
+        assertEquals(2, back.getWins("alice"));
+        assertEquals(1, back.getLosses("bob"));
+        assertEquals(5, back.getWins("carol"));
+        assertEquals(3, back.getLosses("carol"));
+        assertEquals(0, back.getWins("dave"));
+    }
+
+    @Test
+    void renameMergesAndEdgeCasesAreNoOps() {
+        ConcurrentScoreboard scoreboard = new ConcurrentScoreboard(new File(dir, "scores.txt"));
+        scoreboard.setRecord("a", 2, 1);
+        scoreboard.setRecord("b", 3, 4);
+        scoreboard.renamePlayer("a", "b");
+        assertEquals(5, scoreboard.getWins("b"));
+        assertEquals(5, scoreboard.getLosses("b"));
+        assertEquals(1, scoreboard.getPlayerCount());
+
+        scoreboard.renamePlayer("b", " b "); // same name once trimmed
+        scoreboard.removePlayer("nobody");
+        assertEquals(5, scoreboard.getWins("b"));
+        assertEquals(1, scoreboard.getPlayerCount());
+    }
+
+    @Test
+    void updatesRacingRenamesAreNeverLost() throws Exception {
+        // each rename retires the counter the adders are hitting, so they must retry through the map
+        ConcurrentScoreboard scoreboard = new ConcurrentScoreboard(new File(dir, "scores.txt"));
+        int threads = 4, perThread = 20_000;
+        AtomicBoolean adding = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> adders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                await(start);
+                for (int i = 0; i < perThread; i++) scoreboard.addWin("a");
+            });
+            thread.start();
+            adders.add(thread);
+        }
+        Thread renamer = new Thread(() -> {
+            await(start);
+            while (adding.get()) {
+                scoreboard.renamePlayer("a", "b");
+                scoreboard.renamePlayer("b", "a");
+            }
+        });
+        renamer.start();
+        start.countDown();
+        for (Thread thread : adders) thread.join();
+        adding.set(false);
+        renamer.join();
+
+        assertEquals(threads * perThread, scoreboard.getWins("a") + scoreboard.getWins("b"));
+    }
+
+    @Test
+    void standingsPagesMatchTheLockedScoreboard() {
+        ConcurrentScoreboard concurrent = new ConcurrentScoreboard(new File(dir, "a.txt"));
+        Scoreboard locked = new Scoreboard(new File(dir, "b.txt"));
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            String p = "p" + random.nextInt(300);
+            if (random.nextBoolean()) {
+                concurrent.addWin(p);
+                locked.addWin(p);
+            } else {
+                concurrent.addLoss(p);
+                locked.addLoss(p);
+            }
+        }
+        int[][] pages = {{1, 10}, {5, 100}, {150, 200}, {290, 50}, {301, 5}, {2, Integer.MAX_VALUE},
+                {Integer.MAX_VALUE, Integer.MAX_VALUE}, {0, 10}, {1, 0}};
+        for (int[] page : pages) {
+            assertEquals(locked.getStandings(page[0], page[1]), concurrent.getStandings(page[0], page[1]),
+                    "from " + page[0] + ", count " + page[1]);
+        }
+        assertEquals(locked.getTopPlayers(), concurrent.getTopPlayers());
+        assertEquals(locked.getTopPlayers(7), concurrent.getTopPlayers(7));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GameLogTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void codecRoundTripsBoardsNamesAndMoveCounts() throws IOException {
+        File file = new File(dir, "games.log");
+        Random random = new Random(5);
+        List<GameRecord> written = new ArrayList<>();
+        // 1x1 (zero-bit moves), 3x3, 15x15, and 200x200 (multi-byte size varint, 16-bit move ranks)
+        int[] sizes = {1, 3, 15, 200};
+        try (GameLog log = new GameLog(file)) {
+            for (int size : sizes) {
+                for (int moveCount : new int[]{0, 1, Math.min(size * size / 2, 150), Math.min(size * size, 300)}) {
+                    GameRecord game = randomGame(random, size, moveCount, "x" + size, "o" + moveCount);
+                    written.add(game);
+                    log.append(game);
+                }
+            }
+            // names longer than the 1 KB encode buffer, and non-ASCII ones
+            GameRecord longNames = randomGame(random, 3, 9, "é".repeat(2_000), "名前");
+            written.add(longNames);
+            log.append(longNames);
+        }
+
+        List<GameRecord> read = new ArrayList<>();
+        GameLog.read(file, read::add);
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) assertSameGame(written.get(i), read.get(i));
+    }
+
+    @Test
+    void batchesKeepFileOrderWithSingleAppends() throws IOException {
+        File file = new File(dir, "games.log");
+        Random random = new Random(9);
+        List<GameRecord> written = new ArrayList<>();
+        try (GameLog log = new GameLog(file)) {
+            GameLog.Batch batch = new GameLog.Batch();
+            for (int i = 0; i < 5_000; i++) {
+                GameRecord game = randomGame(random, 4, 1 + random.nextInt(16), "a", "b");
+                written.add(game);
+                if (i % 7 == 0) {
+                    log.append(batch);
+                    log.append(game); // buffered inside the log, written ahead of the next batch
+                } else {
+                    batch.add(game);
+                    if (batch.bytes() > 4_000) {
+                        log.append(batch);
+                        assertEquals(0, batch.bytes(), "an appended batch is emptied");
+                    }
+                }
+            }
+            log.append(batch);
+        }
+
+        List<GameRecord> read = new ArrayList<>();
+        GameLog.read(file, read::add);
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) assertSameGame(written.get(i), read.get(i));
+
+        List<GameRecord> last = GameLog.readLast(file, 3);
+        assertEquals(3, last.size());
+        assertSameGame(written.get(written.size() - 1), last.get(2));
+    }
+
+    @Test
+    void tornTailIsIgnoredByReadersAndCutBeforeTheNextAppend() throws IOException {
+        File file = new File(dir, "games.log");
+        Random random = new Random(1);
+        try (GameLog log = new GameLog(file)) {
+            for (int i = 0; i < 3; i++) log.append(randomGame(random, 3, 5, "x", "o"));
+        }
+        long complete = file.length();
+        assertEquals(complete, GameLog.completeLength(file));
+
+        // a record announcing 144 body bytes with only one present
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[]{(byte) 0x90, 0x01, 5});
+        }
+        assertEquals(complete, GameLog.completeLength(file));
+        assertEquals(3, GameLog.readLast(file, 10).size());
+
+        GameRecord next = randomGame(random, 3, 7, "late", "comer");
+        try (GameLog log = new GameLog(file)) {
+            log.append(next);
+        }
+        List<GameRecord> read = GameLog.readLast(file, 10);
+        assertEquals(4, read.size());
+        assertSameGame(next, read.get(3));
+    }
+
+    @Test
+    void corruptLengthIsReportedNotTreatedAsTorn() throws IOException {
+        File file = new File(dir, "games.log");
+        try (GameLog log = new GameLog(file)) {
+            log.append(randomGame(new Random(2), 3, 5, "x", "o"));
+        }
+        long complete = file.length();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(complete);
+            raf.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}); // 4 GB body
+        }
+        IOException e = assertThrows(IOException.class, () -> GameLog.read(file, g -> { }));
+        assertTrue(e.getMessage().startsWith("Corrupt game record"), e.getMessage());
+        assertThrows(IOException.class, () -> GameLog.completeLength(file));
+
+        // the writer refuses to append behind it instead of cutting the file there
+        GameLog log = new GameLog(file);
+        log.append(randomGame(new Random(3), 3, 5, "x", "o"));
+        assertThrows(IOException.class, log::close);
+        assertEquals(complete + 5, file.length());
+    }
+
+    @Test
+    void failedWriteKeepsTheGamesAndReportsTheError() {
+        File missingDir = new File(dir, "missing");
+        File file = new File(missingDir, "games.log");
+        GameLog log = new GameLog(file);
+        GameRecord game = randomGame(new Random(4), 3, 9, "x", "o");
+        GameLog.Batch batch = new GameLog.Batch();
+        batch.add(game);
+        log.append(batch);
+        assertEquals(0, batch.bytes(), "the caller's batch is taken over even when the write fails");
+        assertThrows(IOException.class, log::flush);
+
+        assertTrue(missingDir.mkdir());
+        assertDoesNotThrow(log::close);
+        List<GameRecord> read = assertDoesNotThrow(() -> GameLog.readLast(file, 10));
+        assertEquals(1, read.size(), "retried on the next flush");
+        assertSameGame(game, read.get(0));
+    }
+
+    /** A game of distinct random cells; the codec does not check that it is legal. */
+    private static GameRecord randomGame(Random random, int size, int moveCount, String x, String o) {
+        int cells = size * size;
+        int[] order = new int[cells];
+        for (int i = 0; i < cells; i++) order[i] = i;
+        for (int i = 0; i < moveCount; i++) {
+            int j = i + random.nextInt(cells - i);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        int[] moves = Arrays.copyOf(order, moveCount);
+        byte result = (byte) random.nextInt(3);
+        return new GameRecord(random.nextLong() >>> 1, size, Math.min(size, 5), x, o, result, moves);
+    }
+
+    private static void assertSameGame(GameRecord expected, GameRecord actual) {
+        assertEquals(expected.timeMillis(), actual.timeMillis());
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.winLength(), actual.winLength());
+        assertEquals(expected.playerX(), actual.playerX());
+        assertEquals(expected.playerO(), actual.playerO());
+        assertEquals(expected.result(), actual.result());
+        assertArrayEquals(expected.moves(), actual.moves());
+    }
+}
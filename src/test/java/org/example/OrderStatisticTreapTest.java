@@ -0,0 +1,120 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class OrderStatisticTreapTest {
+
+    @Test
+    void rebuildMatchesInsertsAndSortedOrder() {
+        Random random = new Random(7);
+        for (int n : new int[]{0, 1, 2, 3, 100, 5_000}) {
+            Integer[] keys = new Integer[n + 3]; // trailing slots past count are ignored
+            List<Integer> sorted = new ArrayList<>();
+            OrderStatisticTreap<Integer> inserted = new OrderStatisticTreap<>(Comparator.naturalOrder());
+            for (int i = 0; i < n; i++) {
+                keys[i] = random.nextInt(1_000_000);
+                sorted.add(keys[i]);
+                inserted.insert(keys[i]);
+            }
+            Collections.sort(sorted);
+            OrderStatisticTreap<Integer> rebuilt = new OrderStatisticTreap<>(Comparator.naturalOrder());
+            rebuilt.insert(-1); // replaced by the rebuild
+            rebuilt.rebuild(keys, n);
+
+            assertEquals(sorted, contents(rebuilt), "rebuild of " + n);
+            assertEquals(sorted, contents(inserted), "inserts of " + n);
+            for (int i = 0; i < n; i++) assertEquals(sorted.get(i), rebuilt.get(i));
+        }
+    }
+
+    @Test
+    void rankOfAndGetRoundTrip() {
+        OrderStatisticTreap<Integer> treap = new OrderStatisticTreap<>(Comparator.naturalOrder());
+        for (int i = 0; i < 1_000; i++) treap.insert(i * 3);
+        for (int rank = 0; rank < 1_000; rank++) {
+            assertEquals(rank * 3, treap.get(rank));
+            assertEquals(rank, treap.rankOf(rank * 3));
+        }
+        assertEquals(-1, treap.rankOf(1));
+        assertEquals(-1, treap.rankOf(-3));
+        assertThrows(IndexOutOfBoundsException.class, () -> treap.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> treap.get(1_000));
+    }
+
+    @Test
+    void removeKeepsPositionsConsistent() {
+        OrderStatisticTreap<Integer> treap = new OrderStatisticTreap<>(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(11);
+        for (int op = 0; op < 20_000; op++) {
+            int key = random.nextInt(500);
+            if (random.nextBoolean() && expected.contains(key)) {
+                treap.remove(key);
+                expected.remove(Integer.valueOf(key));
+            } else if (!expected.contains(key)) {
+                treap.insert(key);
+                expected.add(key);
+            }
+        }
+        treap.remove(10_000); // absent: no-op
+        Collections.sort(expected);
+        assertEquals(expected, contents(treap));
+        for (int i = 0; i < expected.size(); i++) assertEquals(i, treap.rankOf(expected.get(i)));
+    }
+
+    @Test
+    void rangeReadsAnyWindowAndStopsAtTheEnd() {
+        OrderStatisticTreap<Integer> treap = new OrderStatisticTreap<>(Comparator.naturalOrder());
+        Integer[] keys = new Integer[300];
+        for (int i = 0; i < keys.length; i++) keys[i] = keys.length - i; // 300..1, sorted by the rebuild
+        treap.rebuild(keys, keys.length);
+
+        for (int from : new int[]{0, 1, 150, 298, 299, 300, 400}) {
+            for (int count : new int[]{0, 1, 5, 300}) {
+                List<Integer> seen = new ArrayList<>();
+                treap.range(from, count, seen::add);
+                List<Integer> expected = new ArrayList<>();
+                for (int r = from; r < Math.min(300, from + count); r++) expected.add(r + 1);
+                assertEquals(expected, seen, "from " + from + ", count " + count);
+            }
+        }
+    }
+
+    @Test
+    void countWhileFindsThePrefixLength() {
+        OrderStatisticTreap<Integer> treap = new OrderStatisticTreap<>(Comparator.naturalOrder());
+        for (int i = 0; i < 100; i++) treap.insert(i * 2);
+        assertEquals(0, treap.countWhile(k -> k < 0));
+        assertEquals(1, treap.countWhile(k -> k < 1));
+        assertEquals(50, treap.countWhile(k -> k < 100));
+        assertEquals(50, treap.countWhile(k -> k <= 98));
+        assertEquals(100, treap.countWhile(k -> true));
+        assertEquals(0, new OrderStatisticTreap<Integer>(Comparator.naturalOrder()).countWhile(k -> true));
+    }
+
+    @Test
+    void clearEmptiesTheTreap() {
+        OrderStatisticTreap<String> treap = new OrderStatisticTreap<>(String.CASE_INSENSITIVE_ORDER);
+        treap.insert("b");
+        treap.insert("A");
+        assertEquals(List.of("A", "b"), contents(treap));
+        treap.clear();
+        assertEquals(0, treap.size());
+        assertEquals(List.of(), contents(treap));
+    }
+
+    private static <K> List<K> contents(OrderStatisticTreap<K> treap) {
+        List<K> out = new ArrayList<>();
+        treap.range(0, treap.size(), out::add);
+        assertEquals(treap.size(), out.size());
+        return out;
+    }
+}
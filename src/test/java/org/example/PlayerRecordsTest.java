@@ -0,0 +1,98 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PlayerRecordsTest {
+
+    @Test
+    void packRoundTripsWinsAndLosses() {
+        int[] values = {0, 1, 7, 65_535, Integer.MAX_VALUE};
+        for (int w : values) {
+            for (int l : values) {
+                long packed = PlayerRecords.pack(w, l);
+                assertTrue(packed >= 0, "packed records are never negative");
+                assertEquals(w, PlayerRecords.winsOf(packed));
+                assertEquals(l, PlayerRecords.lossesOf(packed));
+            }
+        }
+    }
+
+    @Test
+    void absentAndEmptyNamesBehave() {
+        PlayerRecords records = new PlayerRecords();
+        assertEquals(PlayerRecords.ABSENT, records.get("nobody"));
+        assertEquals(PlayerRecords.ABSENT, records.remove("nobody"));
+
+        records.put("", PlayerRecords.pack(1, 2));
+        assertEquals(PlayerRecords.pack(1, 2), records.get(""));
+        assertEquals(PlayerRecords.pack(1, 2), records.remove(""));
+        assertEquals(0, records.size());
+    }
+
+    @Test
+    void backwardShiftDeletionKeepsEveryProbeRunReachable() {
+        // far more names than the initial 16 slots: long probe runs that wrap around the table
+        PlayerRecords records = new PlayerRecords();
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int op = 0; op < 200_000; op++) {
+            String name = "p" + random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                Long old = expected.remove(name);
+                assertEquals(old == null ? PlayerRecords.ABSENT : old, records.remove(name), name);
+            } else {
+                long value = PlayerRecords.pack(random.nextInt(1_000), random.nextInt(1_000));
+                expected.put(name, value);
+                records.put(name, value);
+            }
+        }
+        assertMatches(expected, records);
+    }
+
+    @Test
+    void removingEveryOtherEntryOfATinyTableLeavesTheRest() {
+        PlayerRecords records = new PlayerRecords();
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 9; i++) {
+            records.put("n" + i, i);
+            expected.put("n" + i, (long) i);
+        }
+        for (int i = 0; i < 9; i += 2) {
+            assertEquals(i, records.remove("n" + i));
+            expected.remove("n" + i);
+            assertMatches(expected, records);
+        }
+        for (int i = 1; i < 9; i += 2) assertEquals(i, records.remove("n" + i));
+        assertEquals(0, records.size());
+        for (int i = 0; i < 9; i++) assertFalse(records.contains("n" + i));
+    }
+
+    @Test
+    void clearEmptiesTheTable() {
+        PlayerRecords records = new PlayerRecords();
+        for (int i = 0; i < 100; i++) records.put("p" + i, i);
+        records.clear();
+        assertEquals(0, records.size());
+        assertEquals(PlayerRecords.ABSENT, records.get("p5"));
+        records.put("p5", 5);
+        assertEquals(5, records.get("p5"));
+    }
+
+    private static void assertMatches(Map<String, Long> expected, PlayerRecords records) {
+        assertEquals(expected.size(), records.size());
+        for (Map.Entry<String, Long> e : expected.entrySet()) assertEquals(e.getValue(), records.get(e.getKey()), e.getKey());
+        int[] visited = {0};
+        records.forEach((name, w, l) -> {
+            visited[0]++;
+            assertEquals(expected.get(name), PlayerRecords.pack(w, l), name);
+        });
+        assertEquals(expected.size(), visited[0]);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ScoreboardJournalTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void everyChangeTypeReplaysAfterReload() {
+        File file = new File(dir, "scores.txt");
+        Scoreboard scoreboard = new Scoreboard(file, true);
+        scoreboard.addWin("alice");
+        scoreboard.addLoss("alice");
+        scoreboard.addResults("bob", 4, 2);
+        scoreboard.setRecord("carol", 7, 7);
+        scoreboard.removePlayer("carol");
+        scoreboard.setRecord("dave", 1, 0);
+        scoreboard.renamePlayer("dave", "erin, the second"); // commas inside a rename record
+        assertTrue(scoreboard.save());
+        assertTrue(new File(file.getPath() + ".journal").exists());
+
+        Scoreboard back = new Scoreboard(file, true);
+        assertEquals(3, back.getPlayerCount());
+        assertEquals(1, back.getWins("alice"));
+        assertEquals(1, back.getLosses("alice"));
+        assertEquals(4, back.getWins("bob"));
+        assertEquals(2, back.getLosses("bob"));
+        assertEquals(1, back.getWins("erin, the second"));
+        assertEquals(0, back.getWins("carol"));
+    }
+
+    @Test
+    void tornLastLineIsDroppedAndLaterAppendsStartClean() throws IOException {
+        File file = new File(dir, "scores.txt");
+        File journal = new File(file.getPath() + ".journal");
+        Scoreboard scoreboard = new Scoreboard(file, true);
+        scoreboard.addWin("alice");
+        scoreboard.addWin("bob");
+        assertTrue(scoreboard.save());
+        long complete = journal.length();
+
+        // a crash in the middle of an append
+        try (FileOutputStream out = new FileOutputStream(journal, true)) {
+            out.write("3,W,bo".getBytes(StandardCharsets.UTF_8));
+        }
+
+        Scoreboard back = new Scoreboard(file, true);
+        assertEquals(1, back.getWins("alice"));
+        assertEquals(1, back.getWins("bob"));
+        assertEquals(0, back.getWins("bo"));
+        assertEquals(complete, journal.length(), "torn line cut off");
+
+        back.addWin("bob");
+        assertTrue(back.save());
+        Scoreboard again = new Scoreboard(file, true);
+        assertEquals(2, again.getWins("bob"));
+        assertEquals(2, again.getPlayerCount());
+    }
+
+    @Test
+    void malformedLinesAreSkippedAndOlderSequencesIgnored() throws IOException {
+        File file = new File(dir, "scores.txt");
+        Files.writeString(file.toPath(), "#seq=2\nalice,5,0\n");
+        Files.writeString(new File(file.getPath() + ".journal").toPath(),
+                "1,W,alice\n"       // covered by the snapshot
+                + "2,L,alice\n"     // covered by the snapshot
+                + "x,W,alice\n"     // bad sequence number
+                + "3,Q,alice\n"     // unknown type
+                + "4,S,oops,alice\n" // bad number
+                + "5,W,alice\n");
+
+        Scoreboard scoreboard = new Scoreboard(file, true);
+        assertEquals(6, scoreboard.getWins("alice"));
+        assertEquals(0, scoreboard.getLosses("alice"));
+
+        // new records continue after the highest sequence number seen
+        scoreboard.addLoss("alice");
+        assertTrue(scoreboard.save());
+        String journal = Files.readString(new File(file.getPath() + ".journal").toPath());
+        assertTrue(journal.endsWith("5,W,alice\n6,L,alice\n"), journal);
+    }
+}
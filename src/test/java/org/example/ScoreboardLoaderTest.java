@@ -0,0 +1,102 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ScoreboardLoaderTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void parsesCurrentAndLegacyFormatsAndCountsThem() throws IOException {
+        File file = write("scores.txt",
+                "#seq=42\n"
+                + "alice,3,1\n"
+                + "  bob , 2 , 5 \r\n"        // spaces and CRLF are trimmed
+                + "Carol Ann W:7 L:0\n"         // legacy, name with a space
+                + "dave W:1  L:2\n"
+                + "erin,-4,+2\n"                // negatives clamp to 0
+                + "\n"
+                + "broken\n"
+                + "x,1\n"
+                + "y,1,2,3\n"
+                + "z,one,2\n"
+                + ",1,2\n"
+                + "huge,2147483648,0\n"
+                + "W:1 L:2\n"                   // legacy line without a name
+                + "frank W:x L:1\n"
+                + "#comment\n");
+        PlayerRecords records = new PlayerRecords();
+        ScoreboardLoader.Result result = ScoreboardLoader.load(file, records);
+
+        assertEquals(42, result.snapshotSeq());
+        assertEquals(3, result.report().accepted());
+        assertEquals(2, result.report().migrated());
+        assertEquals(9, result.report().rejected()); // including "#comment"
+        assertEquals(5, records.size());
+        assertEquals(PlayerRecords.pack(3, 1), records.get("alice"));
+        assertEquals(PlayerRecords.pack(2, 5), records.get("bob"));
+        assertEquals(PlayerRecords.pack(7, 0), records.get("Carol Ann"));
+        assertEquals(PlayerRecords.pack(1, 2), records.get("dave"));
+        assertEquals(PlayerRecords.pack(0, 2), records.get("erin"));
+    }
+
+    @Test
+    void laterDuplicateWinsAndMissingFileIsEmpty() throws IOException {
+        File file = write("scores.txt", "alice,1,1\nalice W:9 L:9\nalice,2,3");
+        PlayerRecords records = new PlayerRecords();
+        ScoreboardLoader.Result result = ScoreboardLoader.load(file, records);
+        assertEquals(PlayerRecords.pack(2, 3), records.get("alice"), "last line, even without a newline");
+        assertEquals(0, result.snapshotSeq());
+
+        PlayerRecords none = new PlayerRecords();
+        ScoreboardLoader.Result missing = ScoreboardLoader.load(new File(dir, "absent.txt"), none);
+        assertEquals(0, none.size());
+        assertEquals(0, missing.report().accepted());
+    }
+
+    @Test
+    void chunkedParseOfALargeFileSeesEveryLineOnce() throws IOException {
+        // well over the 1 MB single-chunk limit, mixing both formats so lines straddle chunk edges
+        StringBuilder sb = new StringBuilder("#seq=7\n");
+        int players = 120_000;
+        for (int i = 0; i < players; i++) {
+            if (i % 3 == 0) sb.append("legacy player ").append(i).append(" W:").append(i).append(" L:").append(i % 10).append('\n');
+            else sb.append("p").append(i).append(',').append(i).append(',').append(i % 10).append('\n');
+        }
+        File file = write("big.txt", sb.toString());
+        PlayerRecords records = new PlayerRecords();
+        ScoreboardLoader.Result result = ScoreboardLoader.load(file, records);
+
+        assertEquals(7, result.snapshotSeq());
+        assertEquals(players, records.size());
+        assertEquals(players / 3, result.report().migrated());
+        assertEquals(players - players / 3, result.report().accepted());
+        assertEquals(0, result.report().rejected());
+        for (int i = 0; i < players; i += 997) {
+            String name = i % 3 == 0 ? "legacy player " + i : "p" + i;
+            assertEquals(PlayerRecords.pack(i, i % 10), records.get(name), name);
+        }
+    }
+
+    @Test
+    void legacyFileMigratesToCsvOnSave() throws IOException {
+        File file = write("scores.txt", "Carol Ann W:7 L:1\n");
+        Scoreboard scoreboard = new Scoreboard(file);
+        assertEquals(1, scoreboard.getLastLoadReport().migrated());
+        scoreboard.save();
+        assertEquals("Carol Ann,7,1", Files.readString(file.toPath()).trim());
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(dir, name);
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+}
@@ -0,0 +1,81 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SharedScoreboardTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void savesFromTwoInstancesMergeInsteadOfOverwriting() {
+        File file = new File(dir, "scores.txt");
+        SharedScoreboard first = new SharedScoreboard(file);
+        SharedScoreboard second = new SharedScoreboard(file);
+        first.addWin("alice");
+        first.setRecord("bob", 3, 3);
+        second.addWin("alice");
+        second.addLoss("carol");
+        assertTrue(first.save());
+        assertTrue(second.save());
+
+        Scoreboard merged = new Scoreboard(file);
+        assertEquals(2, merged.getWins("alice"));
+        assertEquals(3, merged.getWins("bob"));
+        assertEquals(1, merged.getLosses("carol"));
+        assertEquals(0, second.getPendingChanges());
+        assertEquals(3, second.getWins("bob"), "a save adopts the other instance's results");
+
+        first.renamePlayer("alice", "alicia");
+        assertTrue(first.save());
+        assertTrue(second.save()); // nothing pending: just reloads
+        assertEquals(2, second.getWins("alicia"));
+        assertEquals(0, second.getWins("alice"));
+    }
+
+    @Test
+    void concurrentSaversLoseNoResults() throws Exception {
+        File file = new File(dir, "scores.txt");
+        int savers = 4, rounds = 25, winsPerRound = 3;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int s = 0; s < savers; s++) {
+            String own = "player" + s;
+            Thread thread = new Thread(() -> {
+                SharedScoreboard scoreboard = new SharedScoreboard(file);
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int r = 0; r < rounds; r++) {
+                    for (int i = 0; i < winsPerRound; i++) {
+                        scoreboard.addWin("shared");
+                        scoreboard.addWin(own);
+                    }
+                    if (!scoreboard.save()) failed.set(true);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(false, failed.get());
+        Scoreboard merged = new Scoreboard(file);
+        assertEquals(savers * rounds * winsPerRound, merged.getWins("shared"));
+        for (int s = 0; s < savers; s++) assertEquals(rounds * winsPerRound, merged.getWins("player" + s));
+        assertEquals(savers + 1, merged.getPlayerCount());
+    }
+}